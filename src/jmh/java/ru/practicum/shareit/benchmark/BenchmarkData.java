@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic synthetic entities for benchmarks. Every generator derives ids from the element index so
+ * runs with the same size produce the same data.
+ */
+final class BenchmarkData {
+
+    static final long OWNER_ID = 1L;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User owner() {
+        return User.builder().id(OWNER_ID).name("owner").email("owner@mail.com").build();
+    }
+
+    static List<User> bookers(int count) {
+        final List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(User.builder().id(OWNER_ID + 1 + i).name("booker" + i).email("booker" + i + "@mail.com").build());
+        }
+        return users;
+    }
+
+    static List<Item> items(int count, User owner) {
+        final List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(Item.builder()
+                    .id((long) i + 1)
+                    .name("item " + i)
+                    .description("description of item " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        return items;
+    }
+
+    /**
+     * Alternates past and future APPROVED bookings over the given items, as returned by the last/next
+     * booking query.
+     */
+    static List<Booking> bookings(int count, List<Item> items, List<User> bookers, LocalDateTime now) {
+        final List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Item item = items.get(i / 2 % items.size());
+            final LocalDateTime start = i % 2 == 0 ? now.minusDays(2 + i % 30) : now.plusDays(1 + i % 30);
+            bookings.add(Booking.builder()
+                    .id((long) i + 1)
+                    .item(item)
+                    .itemOwnerId(item.getOwner().getId())
+                    .booker(bookers.get(i % bookers.size()))
+                    .status(BookingStatus.APPROVED)
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build());
+        }
+        return bookings;
+    }
+
+    static List<Comment> comments(int count, List<Item> items, List<User> authors, LocalDateTime now) {
+        final List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            comments.add(Comment.builder()
+                    .id((long) i + 1)
+                    .text("comment " + i)
+                    .item(items.get(i % items.size()))
+                    .author(authors.get(i % authors.size()))
+                    .created(now.minusHours(i % 1000))
+                    .build());
+        }
+        return comments;
+    }
+
+    static AddBookingDto[] addBookingDtos(int count) {
+        final Random random = new Random(count);
+        final AddBookingDto[] dtos = new AddBookingDto[count];
+        for (int i = 0; i < count; i++) {
+            final LocalDateTime start = BASE.plusHours(random.nextInt(10_000));
+            final LocalDateTime end = i % 10 == 0 ? start.minusHours(1) : start.plusHours(1 + random.nextInt(72));
+            dtos[i] = new AddBookingDto((long) i + 1, start, end);
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,168 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk import of items and bookings through {@code saveAll}. {@code jdbcBatchSize=0} sends one INSERT per
+ * row, which is what the former {@code IDENTITY} ids forced; {@code 50} matches the sequence allocation size.
+ * Rows inserted by an invocation are deleted after it, outside the measured time.
+ *
+ * <p>By default the embedded H2 database of the {@code test} profile is used. It runs in-process, so there
+ * is no round trip for batching to save; pass {@code -Dbulk.datasource.url}, {@code .username} and
+ * {@code .password} through {@code -jvmArgsAppend} to measure against a PostgreSQL server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int BOOKED_ITEMS = 100;
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Param({"0", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"1000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ItemStorage itemStorage;
+
+    private BookingStorage bookingStorage;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+
+    private User booker;
+
+    private List<Item> bookedItems;
+
+    private long lastSeededItemId;
+
+    private List<Item> items;
+
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        final SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setAdditionalProfiles("test");
+        application.setWebApplicationType(WebApplicationType.NONE);
+        final List<String> args = new ArrayList<>(List.of(
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                "--shareit.logging.enabled=false"));
+        final String url = System.getProperty("bulk.datasource.url");
+        if (url != null) {
+            args.add("--spring.datasource.driverClassName=org.postgresql.Driver");
+            args.add("--spring.datasource.url=" + url);
+            args.add("--spring.datasource.username=" + System.getProperty("bulk.datasource.username", "postgres"));
+            args.add("--spring.datasource.password=" + System.getProperty("bulk.datasource.password", ""));
+        }
+        context = application.run(args.toArray(new String[0]));
+        itemStorage = context.getBean(ItemStorage.class);
+        bookingStorage = context.getBean(BookingStorage.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        final UserStorage userStorage = context.getBean(UserStorage.class);
+        final String suffix = "-" + System.nanoTime() + "@bulk.test";
+        owner = userStorage.save(User.builder().name("owner").email("owner" + suffix).build());
+        booker = userStorage.save(User.builder().name("booker").email("booker" + suffix).build());
+        bookedItems = itemStorage.saveAll(newItems(BOOKED_ITEMS));
+        lastSeededItemId = bookedItems.get(bookedItems.size() - 1).getId();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareRows() {
+        items = newItems(rows);
+        bookings = newBookings(rows);
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteRows() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE user_id = ?", booker.getId());
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id = ? AND id > ?", owner.getId(), lastSeededItemId);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> importItems() {
+        return itemStorage.saveAll(items);
+    }
+
+    @Benchmark
+    public List<Booking> importBookings() {
+        return bookingStorage.saveAll(bookings);
+    }
+
+    private List<Item> newItems(int count) {
+        final List<Item> newItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            newItems.add(Item.builder()
+                    .name("item " + i)
+                    .description("description of item " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+        }
+        return newItems;
+    }
+
+    private List<Booking> newBookings(int count) {
+        final List<Booking> newBookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final Item item = bookedItems.get(i % bookedItems.size());
+            final LocalDateTime start = BASE.plusDays(i);
+            newBookings.add(Booking.builder()
+                    .item(item)
+                    .itemOwnerId(owner.getId())
+                    .booker(booker)
+                    .status(BookingStatus.WAITING)
+                    .start(start)
+                    .end(start.plusDays(1))
+                    .build());
+        }
+        return newBookings;
+    }
+}
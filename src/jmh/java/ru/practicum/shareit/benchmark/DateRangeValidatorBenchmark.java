@@ -0,0 +1,55 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.shared.time.RequestClock;
+import ru.practicum.shareit.shared.validation.ValidateDateRange;
+import ru.practicum.shareit.shared.validation.ValidateDateRangeValidator;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateRangeValidatorBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final ValidateDateRangeValidator validator = new ValidateDateRangeValidator(
+            new RequestClock(Clock.systemDefaultZone()));
+
+    private AddBookingDto[] dtos;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        validator.initialize(AddBookingDto.class.getAnnotation(ValidateDateRange.class));
+        dtos = BenchmarkData.addBookingDtos(size);
+    }
+
+    @Benchmark
+    public int isValid() {
+        int valid = 0;
+        for (AddBookingDto dto : dtos) {
+            if (validator.isValid(dto, null)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
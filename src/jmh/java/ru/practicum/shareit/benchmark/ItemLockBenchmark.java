@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.service.ItemLockProperties;
+import ru.practicum.shareit.booking.service.ItemLocks;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads run a simulated booking critical section under the item lock. With {@code items=1} every
+ * call contends for the same lock; with more items the calls spread over the stripes and mostly run in
+ * parallel. The share of contended acquisitions is printed after each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class ItemLockBenchmark {
+
+    @Param({"1", "16", "1024"})
+    private int items;
+
+    @Param({"256"})
+    private int stripes;
+
+    @Param({"500"})
+    private long work;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemLocks itemLocks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final ItemLockProperties properties = new ItemLockProperties();
+        properties.setStripes(stripes);
+        meterRegistry = new SimpleMeterRegistry();
+        itemLocks = new ItemLocks(properties, meterRegistry);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportContention() {
+        final double contended = meterRegistry.counter("shareit.item.lock.acquisitions", "contended", "true").count();
+        final double uncontended = meterRegistry.counter("shareit.item.lock.acquisitions", "contended", "false")
+                .count();
+        System.out.printf("%nitems=%d contended=%.1f%% meanWait=%.3fus%n", items,
+                100.0 * contended / (contended + uncontended),
+                meterRegistry.timer("shareit.item.lock.wait").mean(TimeUnit.MICROSECONDS));
+    }
+
+    @Benchmark
+    public void lockedCriticalSection() {
+        final long itemId = ThreadLocalRandom.current().nextInt(items);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemLocks.lockUntilCompletion(itemId);
+            Blackhole.consumeCPU(work);
+        } finally {
+            final List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            synchronizations.forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        }
+    }
+}
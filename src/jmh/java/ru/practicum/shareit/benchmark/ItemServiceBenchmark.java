@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndexProperties;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.service.ItemViewCache;
+import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemSearch;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.storage.ItemRequestStorage;
+import ru.practicum.shareit.shared.time.RequestClock;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserCache;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory assembly of the owner's item views. Storages return pre-generated data, so the measured time
+ * is the grouping and mapping done by {@link ItemServiceImpl}, not database access. Without a Spring context
+ * the user and item view caches are plain pass-through lookups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int bookingCount;
+
+    private ItemServiceImpl itemService;
+
+    private int itemCount;
+
+    private long itemId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final LocalDateTime now = LocalDateTime.now();
+        final User owner = BenchmarkData.owner();
+        final List<User> bookers = BenchmarkData.bookers(100);
+        itemCount = Math.max(1, bookingCount / 2);
+        final List<Item> items = BenchmarkData.items(itemCount, owner);
+        final List<Booking> bookings = BenchmarkData.bookings(bookingCount, items, bookers, now);
+        itemId = items.get(0).getId();
+
+        final ItemStorage itemStorage = Stubs.of(ItemStorage.class, Map.of(
+                "findAllByOwnerIdOrderById", new SliceImpl<>(items),
+                "findById", Optional.of(items.get(0))));
+        final UserCache userCache = new UserCache(Stubs.of(UserStorage.class, Map.of("findById", Optional.of(owner))));
+        final BookingStorage bookingStorage = Stubs.of(BookingStorage.class, Map.of(
+                "findLastAndNextApprovedBookingsByItemIdIn", bookings,
+                "findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc", Optional.of(bookings.get(0)),
+                "findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc",
+                Optional.of(bookings.get(bookings.size() - 1))));
+        final CommentStorage commentStorage = Stubs.of(CommentStorage.class, Map.of(
+                "findAllByItemIdIn", BenchmarkData.comments(bookingCount, items, bookers, now),
+                "findAllByItemId", List.of()));
+        final ItemMapperImpl itemMapper = new ItemMapperImpl();
+        final CommentMapperImpl commentMapper = new CommentMapperImpl();
+        final ItemViewCache itemViewCache = new ItemViewCache(itemStorage, commentStorage, itemMapper, commentMapper);
+
+        itemService = new ItemServiceImpl(itemStorage, Stubs.of(ItemSearch.class, Map.of()), itemViewCache, userCache,
+                bookingStorage, commentStorage, Stubs.of(ItemRequestStorage.class, Map.of()), itemMapper,
+                new BookingMapperImpl(), commentMapper, new RequestClock(Clock.systemDefaultZone()),
+                new ApprovedBookingIndex(bookingStorage, new ApprovedBookingIndexProperties()));
+    }
+
+    @Benchmark
+    public List<GetItemDto> findAllItemsByUserId() {
+        return itemService.findAllItemsByUserId(BenchmarkData.OWNER_ID, 0L, itemCount).getContent();
+    }
+
+    @Benchmark
+    public GetItemDto findItemByIdAsOwner() {
+        return itemService.findItemById(BenchmarkData.OWNER_ID, itemId);
+    }
+}
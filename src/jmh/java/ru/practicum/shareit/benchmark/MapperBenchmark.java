@@ -0,0 +1,64 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+
+    private List<Booking> bookings;
+
+    private List<Item> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final User owner = BenchmarkData.owner();
+        items = BenchmarkData.items(size, owner);
+        bookings = BenchmarkData.bookings(size, items, BenchmarkData.bookers(100), LocalDateTime.now());
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingToDtoList() {
+        return bookingMapper.toDtoList(bookings);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemToDtoList() {
+        return itemMapper.toDtoList(items);
+    }
+}
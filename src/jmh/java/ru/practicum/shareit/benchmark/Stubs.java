@@ -0,0 +1,29 @@
+package ru.practicum.shareit.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Interface stubs that return a fixed value per method name. Unlike mocks they do not match or record
+ * arguments, so they add almost nothing to the measured time.
+ */
+final class Stubs {
+
+    private Stubs() {
+    }
+
+    static <T> T of(Class<T> type, Map<String, Object> results) {
+        final Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        return method.getName().equals("toString") ? type.getSimpleName() + "Stub"
+                                : method.getName().equals("hashCode") ? System.identityHashCode(proxy) : proxy == args[0];
+                    }
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return results.get(method.getName());
+                });
+        return type.cast(stub);
+    }
+}
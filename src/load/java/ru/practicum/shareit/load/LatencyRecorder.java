@@ -0,0 +1,55 @@
+package ru.practicum.shareit.load;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latencies of one scenario recorded by a single client thread. Recorders of all clients are merged
+ * before the percentiles are computed.
+ */
+class LatencyRecorder {
+
+    private long[] latenciesNanos = new long[1024];
+    private int count;
+    private int errors;
+
+    void record(long latencyNanos, boolean success) {
+        if (count == latenciesNanos.length) {
+            latenciesNanos = Arrays.copyOf(latenciesNanos, count * 2);
+        }
+        latenciesNanos[count++] = latencyNanos;
+        if (!success) {
+            errors++;
+        }
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        for (int i = 0; i < count; i++) {
+            target.record(latenciesNanos[i], true);
+        }
+        target.errors += errors;
+    }
+
+    Map<String, Object> summary(double seconds) {
+        final long[] sorted = Arrays.copyOf(latenciesNanos, count);
+        Arrays.sort(sorted);
+        final Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", count);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", seconds > 0 ? count / seconds : 0.0);
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p95Ms", percentileMillis(sorted, 0.95));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1_000_000.0);
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,175 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.dto.GetBookingState;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boots the application on the {@code test} profile with an in-memory H2 database, seeds it and drives
+ * mixed read traffic from concurrent clients. Throughput and latency percentiles per scenario are written
+ * as JSON to {@code load.report}. Arguments are passed to the application, e.g.
+ * {@code --shareit.search.engine=index}.
+ */
+@Slf4j
+public final class LoadTestRunner {
+
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private static final GetBookingState[] STATES = GetBookingState.values();
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        final SpringApplication application = new SpringApplication(ShareItApp.class);
+        application.setAdditionalProfiles("test");
+        application.setDefaultProperties(Map.of("server.port", "0"));
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            final int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            final LoadTestSeeder seeder = new LoadTestSeeder(context.getBean(UserStorage.class),
+                    context.getBean(ItemStorage.class), context.getBean(BookingStorage.class));
+            final long seedStart = System.nanoTime();
+            final LoadTestSeeder.SeededData data = seeder.seed(settings);
+            final double seedSeconds = (System.nanoTime() - seedStart) / 1e9;
+            log.info("Load test data seeded in {} s: {}", seedSeconds, settings);
+
+            final Traffic traffic = new Traffic(URI.create("http://localhost:" + port), settings, data);
+            traffic.run(settings.getWarmup());
+            final Map<String, LatencyRecorder> results = traffic.run(settings.getDuration());
+
+            final Map<String, Object> report = report(settings, seedSeconds, results);
+            Files.createDirectories(settings.getReport().toAbsolutePath().getParent());
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValue(settings.getReport().toFile(), report);
+            log.info("Load test report written to {}", settings.getReport().toAbsolutePath());
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestSettings settings, double seedSeconds,
+                                              Map<String, LatencyRecorder> results) {
+        final double seconds = settings.getDuration().toMillis() / 1000.0;
+        final LatencyRecorder total = new LatencyRecorder();
+        final Map<String, Object> scenarios = new TreeMap<>();
+        results.forEach((scenario, recorder) -> {
+            recorder.mergeInto(total);
+            scenarios.put(scenario, recorder.summary(seconds));
+        });
+        final Map<String, Object> config = new LinkedHashMap<>();
+        config.put("users", settings.getUsers());
+        config.put("items", settings.getItems());
+        config.put("bookings", settings.getBookings());
+        config.put("clients", settings.getClients());
+        config.put("warmup", settings.getWarmup().toString());
+        config.put("duration", settings.getDuration().toString());
+        final Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("settings", config);
+        report.put("seedSeconds", seedSeconds);
+        report.put("total", total.summary(seconds));
+        report.put("scenarios", scenarios);
+        return report;
+    }
+
+    private static final class Traffic {
+
+        private final URI baseUri;
+        private final LoadTestSettings settings;
+        private final LoadTestSeeder.SeededData data;
+        private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+        private Traffic(URI baseUri, LoadTestSettings settings, LoadTestSeeder.SeededData data) {
+            this.baseUri = baseUri;
+            this.settings = settings;
+            this.data = data;
+        }
+
+        Map<String, LatencyRecorder> run(Duration duration) throws Exception {
+            final long deadline = System.nanoTime() + duration.toNanos();
+            final ExecutorService executor = Executors.newFixedThreadPool(settings.getClients());
+            try {
+                final List<Future<Map<String, LatencyRecorder>>> clients = new ArrayList<>();
+                for (int i = 0; i < settings.getClients(); i++) {
+                    clients.add(executor.submit(() -> client(deadline)));
+                }
+                final Map<String, LatencyRecorder> merged = new TreeMap<>();
+                for (Future<Map<String, LatencyRecorder>> client : clients) {
+                    client.get().forEach((scenario, recorder) ->
+                            recorder.mergeInto(merged.computeIfAbsent(scenario, s -> new LatencyRecorder())));
+                }
+                return merged;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private Map<String, LatencyRecorder> client(long deadline) throws InterruptedException {
+            final Map<String, LatencyRecorder> recorders = new TreeMap<>();
+            final ThreadLocalRandom random = ThreadLocalRandom.current();
+            final int totalWeight = settings.getSearchWeight() + settings.getOwnerBookingsWeight()
+                    + settings.getOwnerItemsWeight() + settings.getItemWeight();
+            while (System.nanoTime() < deadline) {
+                final long userId = data.getUserIds()[random.nextInt(data.getUserIds().length)];
+                final int pick = random.nextInt(totalWeight);
+                final String scenario;
+                final String path;
+                if (pick < settings.getSearchWeight()) {
+                    scenario = "search";
+                    path = "/items/search?text=" + LoadTestSeeder.WORDS[random.nextInt(LoadTestSeeder.WORDS.length)];
+                } else if (pick < settings.getSearchWeight() + settings.getOwnerBookingsWeight()) {
+                    final GetBookingState state = STATES[random.nextInt(STATES.length)];
+                    scenario = "ownerBookings." + state;
+                    path = "/bookings/owner?state=" + state;
+                } else if (pick < settings.getSearchWeight() + settings.getOwnerBookingsWeight()
+                        + settings.getOwnerItemsWeight()) {
+                    scenario = "ownerItems";
+                    path = "/items";
+                } else {
+                    scenario = "item";
+                    path = "/items/" + data.getItemIds()[random.nextInt(data.getItemIds().length)];
+                }
+                final HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                        .header(USER_HEADER, String.valueOf(userId))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                final long start = System.nanoTime();
+                boolean success;
+                try {
+                    success = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+                } catch (IOException e) {
+                    success = false;
+                }
+                recorders.computeIfAbsent(scenario, s -> new LatencyRecorder())
+                        .record(System.nanoTime() - start, success);
+            }
+            return recorders;
+        }
+    }
+}
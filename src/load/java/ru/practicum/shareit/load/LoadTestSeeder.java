@@ -0,0 +1,96 @@
+package ru.practicum.shareit.load;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the database with a deterministic data set: items are spread over all users and bookings over all
+ * items, with a mix of statuses and past, current and future dates.
+ */
+@RequiredArgsConstructor
+class LoadTestSeeder {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    static final String[] WORDS = {"drill", "saw", "ladder", "tent", "bike", "kayak", "camera", "projector",
+            "hammer", "grill", "scooter", "tripod"};
+
+    private static final BookingStatus[] STATUSES = {BookingStatus.APPROVED, BookingStatus.APPROVED,
+            BookingStatus.WAITING, BookingStatus.REJECTED};
+
+    private final UserStorage userStorage;
+    private final ItemStorage itemStorage;
+    private final BookingStorage bookingStorage;
+
+    SeededData seed(LoadTestSettings settings) {
+        final Random random = new Random(42);
+        final List<User> users = new ArrayList<>(settings.getUsers());
+        for (int i = 0; i < settings.getUsers(); i++) {
+            users.add(User.builder().name("user" + i).email("user" + i + "@load.test").build());
+        }
+        final List<User> savedUsers = userStorage.saveAll(users);
+
+        final List<Item> savedItems = new ArrayList<>(settings.getItems());
+        final List<Item> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.getItems(); i++) {
+            final String word = WORDS[i % WORDS.length];
+            items.add(Item.builder()
+                    .name(word + " " + i)
+                    .description("Rentable " + word + " number " + i)
+                    .available(random.nextInt(10) > 0)
+                    .owner(savedUsers.get(i % savedUsers.size()))
+                    .build());
+            if (items.size() == BATCH_SIZE) {
+                savedItems.addAll(itemStorage.saveAll(items));
+                items.clear();
+            }
+        }
+        savedItems.addAll(itemStorage.saveAll(items));
+
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Booking> bookings = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < settings.getBookings(); i++) {
+            final Item item = savedItems.get(random.nextInt(savedItems.size()));
+            User booker = savedUsers.get(random.nextInt(savedUsers.size()));
+            if (booker.getId().equals(item.getOwner().getId())) {
+                booker = savedUsers.get((savedUsers.indexOf(booker) + 1) % savedUsers.size());
+            }
+            final LocalDateTime start = now.plusHours(random.nextInt(24 * 120) - 24 * 60);
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .itemOwnerId(item.getOwner().getId())
+                    .booker(booker)
+                    .status(STATUSES[random.nextInt(STATUSES.length)])
+                    .start(start)
+                    .end(start.plusHours(1 + random.nextInt(72)))
+                    .build());
+            if (bookings.size() == BATCH_SIZE) {
+                bookingStorage.saveAll(bookings);
+                bookings.clear();
+            }
+        }
+        bookingStorage.saveAll(bookings);
+
+        final long[] userIds = savedUsers.stream().mapToLong(User::getId).toArray();
+        final long[] itemIds = savedItems.stream().mapToLong(Item::getId).toArray();
+        return new SeededData(userIds, itemIds);
+    }
+
+    @Value
+    static class SeededData {
+        long[] userIds;
+        long[] itemIds;
+    }
+}
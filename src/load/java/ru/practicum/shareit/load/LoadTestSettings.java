@@ -0,0 +1,41 @@
+package ru.practicum.shareit.load;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Load profile read from {@code load.*} system properties.
+ */
+@Value
+class LoadTestSettings {
+
+    int users;
+    int items;
+    int bookings;
+    int clients;
+    Duration warmup;
+    Duration duration;
+    int searchWeight;
+    int ownerBookingsWeight;
+    int ownerItemsWeight;
+    int itemWeight;
+    Path report;
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("load.users", 100),
+                Integer.getInteger("load.items", 1_000),
+                Integer.getInteger("load.bookings", 10_000),
+                Integer.getInteger("load.clients", 8),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Integer.getInteger("load.weight.search", 3),
+                Integer.getInteger("load.weight.owner-bookings", 4),
+                Integer.getInteger("load.weight.owner-items", 3),
+                Integer.getInteger("load.weight.item", 3),
+                Paths.get(System.getProperty("load.report", "target/load-test-report.json")));
+    }
+}
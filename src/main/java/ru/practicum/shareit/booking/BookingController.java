@@ -1,17 +1,24 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.shared.SliceResponse;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
 import java.util.List;
 
 @RestController
@@ -22,6 +29,10 @@ public class BookingController {
 
     private static final String DEFAULT_PAGE_SIZE = "10";
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -31,6 +42,13 @@ public class BookingController {
         return bookingService.addBooking(userId, bookingDto);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> addNewBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                      List<AddBookingDto> bookingDtos) {
+        return bookingService.addBookings(userId, bookingDtos);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto acknowledgeBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
                                          @PathVariable Long bookingId,
@@ -38,6 +56,14 @@ public class BookingController {
         return bookingService.acknowledgeBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping("/batch")
+    public List<BookingBatchResultDto> acknowledgeBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam Boolean approved,
+                                                           @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE)
+                                                           List<Long> bookingIds) {
+        return bookingService.acknowledgeBookings(userId, bookingIds, approved);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") Long userId,
                                      @PathVariable Long bookingId) {
@@ -45,18 +71,37 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDto> getAllBookingsFromUser(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "ALL") GetBookingState state,
-                                                   @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
-        return bookingService.getAllBookingsFromUser(userId, state, from, size, false);
+    public ResponseEntity<List<BookingDto>> getAllBookingsFromUser(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(defaultValue = "ALL") GetBookingState state,
+                                                                   @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
+                                                                   @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size,
+                                                                   @RequestParam(required = false) String after) {
+        return getBookingsPage(userId, state, from, size, after, false);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(defaultValue = "ALL") GetBookingState state,
-                                                @RequestParam(defaultValue = "0") Long from,
-                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) Integer size) {
-        return bookingService.getAllBookingsFromUser(userId, state, from, size, true);
+    public ResponseEntity<List<BookingDto>> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(defaultValue = "ALL") GetBookingState state,
+                                                                @RequestParam(defaultValue = "0") Long from,
+                                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) Integer size,
+                                                                @RequestParam(required = false) String after) {
+        return getBookingsPage(userId, state, from, size, after, true);
+    }
+
+    private ResponseEntity<List<BookingDto>> getBookingsPage(Long userId, GetBookingState state, Long from,
+                                                             Integer size, String after, boolean isOwner) {
+        final Slice<BookingDto> bookings;
+        if (after == null) {
+            bookings = bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
+        } else {
+            bookings = bookingService.getAllBookingsFromUserAfter(userId, state, BookingCursor.decode(after), size,
+                    isOwner);
+        }
+        final List<BookingDto> content = bookings.getContent();
+        final ResponseEntity.BodyBuilder response = SliceResponse.ok(bookings);
+        if (bookings.hasNext()) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.of(content.get(content.size() - 1)).encode());
+        }
+        return response.body(content);
     }
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import ru.practicum.shareit.shared.validation.DateRange;
 import ru.practicum.shareit.shared.validation.ValidateDateRange;
 
 import javax.validation.constraints.NotNull;
@@ -13,8 +14,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@ValidateDateRange(start = "start", end = "end", message = "Задан некорректный интервал бронирования.")
-public class AddBookingDto {
+@ValidateDateRange(message = "Задан некорректный интервал бронирования.")
+public class AddBookingDto implements DateRange {
 
     @NotNull(message = "Не указан идентификатор вещи.")
     private Long itemId;
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one entry of a batch booking request: the created booking or the HTTP status and message the
+ * entry would have been rejected with on its own.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingBatchResultDto {
+
+    private Integer index;
+
+    private Integer status;
+
+    private BookingDto booking;
+
+    private String error;
+}
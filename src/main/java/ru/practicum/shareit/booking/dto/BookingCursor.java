@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import ru.practicum.shareit.shared.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a booking listing ordered by {@code start DESC, id DESC}.
+ */
+@Value
+@AllArgsConstructor(staticName = "of")
+public class BookingCursor {
+
+    private static final String SEPARATOR = "_";
+
+    LocalDateTime start;
+
+    Long id;
+
+    public static BookingCursor of(BookingDto booking) {
+        return of(booking.getStart(), booking.getId());
+    }
+
+    public static BookingCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Некорректный курсор пагинации: '" + cursor + "'.");
+            }
+            return of(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Некорректный курсор пагинации: '" + cursor + "'.");
+        }
+    }
+
+    public String encode() {
+        String raw = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Start and end of a booking, read without loading the booking entity.
+ */
+public interface BookingPeriod {
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
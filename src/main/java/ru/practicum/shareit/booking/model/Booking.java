@@ -20,7 +20,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
@@ -35,7 +37,8 @@ import java.util.Objects;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +51,9 @@ public class Booking {
     @ToString.Exclude
     private User booker;
 
+    @Column(name = "item_owner_id", nullable = false)
+    private Long itemOwnerId;
+
     @Enumerated(EnumType.STRING)
     private BookingStatus status;
 
@@ -57,6 +63,9 @@ public class Booking {
     @Column(name = "end_date", nullable = false)
     private LocalDateTime end;
 
+    @Version
+    private Long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 
@@ -9,9 +12,16 @@ import java.util.List;
 public interface BookingService {
     BookingDto addBooking(Long userId, AddBookingDto bookingDto);
 
+    List<BookingBatchResultDto> addBookings(Long userId, List<AddBookingDto> bookingDtos);
+
     BookingDto acknowledgeBooking(Long userId, Long bookingId, Boolean approved);
 
-    List<BookingDto> getAllBookingsFromUser(Long userId, GetBookingState state, Long from, Integer size, boolean isOwner);
+    List<BookingBatchResultDto> acknowledgeBookings(Long userId, List<Long> bookingIds, Boolean approved);
+
+    Slice<BookingDto> getAllBookingsFromUser(Long userId, GetBookingState state, Long from, Integer size, boolean isOwner);
+
+    Slice<BookingDto> getAllBookingsFromUserAfter(Long userId, GetBookingState state, BookingCursor after,
+                                                  Integer size, boolean isOwner);
 
     BookingDto getBookingById(Long userId, Long bookingId);
 }
@@ -1,15 +1,20 @@
 package ru.practicum.shareit.booking.service;
 
-import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -17,66 +22,210 @@ import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.shared.exception.ItemUnavailableException;
 import ru.practicum.shareit.shared.exception.NotAuthorizedException;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.retry.RetryOnConflict;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
 import javax.transaction.Transactional;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
+    private static final String STATUS_NOT_WAITING_MESSAGE =
+            "Текущий статус бронирования не позволяет сделать подтверждение.";
+
+    private static final String OVERLAP_MESSAGE =
+            "Период бронирования пересекается с подтверждённым бронированием вещи.";
+
     private final BookingStorage bookingStorage;
-    private final UserStorage userStorage;
+    private final UserCache userCache;
     private final ItemStorage itemStorage;
     private final BookingMapper bookingMapper;
+    private final RequestClock requestClock;
+    private final Validator validator;
+    private final ApprovedBookingIndex approvedBookingIndex;
+    private final ItemLocks itemLocks;
 
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingDto addBooking(final Long userId, final AddBookingDto bookingDto) {
         final User user = findUser(userId);
+        itemLocks.lockUntilCompletion(bookingDto.getItemId());
         final Item item = itemStorage.findById(bookingDto.getItemId())
-                .orElseThrow(() -> new NotFoundException("Вещь с id '" + bookingDto.getItemId() + "' не найдена."));
-        checkItemAvailability(item);
-        if (item.getOwner().getId().equals(userId)) {
-            throw new NotAuthorizedException("Вещь с id '" + item.getId() +
-                    "' уже принадлежит пользователю с id '" + userId + "'.");
-        }
-        final Booking booking = Booking.builder()
-                .item(item)
-                .booker(user)
-                .status(BookingStatus.WAITING)
-                .start(bookingDto.getStart())
-                .end(bookingDto.getEnd())
-                .build();
-        final Booking savedBooking = bookingStorage.save(booking);
+                .orElseThrow(() -> itemNotFound(bookingDto.getItemId()));
+        final Booking savedBooking = bookingStorage.save(createBooking(userId, user, item, bookingDto));
         return bookingMapper.toDto(savedBooking);
     }
 
     @Override
     @Transactional
+    public List<BookingBatchResultDto> addBookings(final Long userId, final List<AddBookingDto> bookingDtos) {
+        final User user = findUser(userId);
+        final Set<Long> itemIds = bookingDtos.stream()
+                .filter(Objects::nonNull)
+                .map(AddBookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        itemLocks.lockUntilCompletion(itemIds);
+        final Map<Long, Item> items = itemStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        final BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        final List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        final List<Integer> bookingIndexes = new ArrayList<>(bookingDtos.size());
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            final AddBookingDto bookingDto = bookingDtos.get(i);
+            final String violations = validate(bookingDto);
+            if (violations != null) {
+                results[i] = failedEntry(i, HttpStatus.BAD_REQUEST, violations);
+                continue;
+            }
+            try {
+                final Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw itemNotFound(bookingDto.getItemId());
+                }
+                bookings.add(createBooking(userId, user, item, bookingDto));
+                bookingIndexes.add(i);
+            } catch (NotFoundException | NotAuthorizedException e) {
+                results[i] = failedEntry(i, HttpStatus.NOT_FOUND, e.getMessage());
+            } catch (ItemUnavailableException e) {
+                results[i] = failedEntry(i, HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+
+        final List<Booking> savedBookings = bookingStorage.saveAll(bookings);
+        for (int j = 0; j < savedBookings.size(); j++) {
+            final int index = bookingIndexes.get(j);
+            results[index] = BookingBatchResultDto.builder()
+                    .index(index)
+                    .status(HttpStatus.CREATED.value())
+                    .booking(bookingMapper.toDto(savedBookings.get(j)))
+                    .build();
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    @Transactional
+    @RetryOnConflict
     public BookingDto acknowledgeBooking(final Long userId, final Long bookingId, final Boolean approved) {
         findUser(userId);
+        final Long itemId = bookingStorage.findItemIdById(bookingId)
+                .orElseThrow(() -> new NotFoundException(bookingNotFoundMessage(bookingId)));
+        itemLocks.lockUntilCompletion(itemId);
         final Booking booking = findBooking(bookingId);
         final Item item = booking.getItem();
         if (!item.getOwner().getId().equals(userId)) {
-            throw new NotAuthorizedException("Пользователь с id '" + userId +
-                    "' не является владельцем вещи с id '" + item.getId() + "'.");
+            throw new NotAuthorizedException(notItemOwnerMessage(userId, item.getId()));
         }
         if (!booking.getStatus().equals(BookingStatus.WAITING)) {
-            throw new ItemUnavailableException("Текущий статус бронирования не позволяет сделать подтверждение.");
+            throw new ItemUnavailableException(STATUS_NOT_WAITING_MESSAGE);
         }
         if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+            checkNoApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd());
+            claimItem(item);
+            if (overlapsStoredApproved(booking)) {
+                throw new ItemUnavailableException(OVERLAP_MESSAGE);
+            }
+            approvedBookingIndex.addApproved(item.getId(), booking.getStart(), booking.getEnd());
         }
+        booking.setStatus(acknowledgedStatus(approved));
         return bookingMapper.toDto(booking);
     }
 
+    @Override
+    @Transactional
+    @RetryOnConflict
+    public List<BookingBatchResultDto> acknowledgeBookings(final Long userId, final List<Long> bookingIds,
+                                                           final Boolean approved) {
+        findUser(userId);
+        final Set<Long> uniqueIds = bookingIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        itemLocks.lockUntilCompletion(bookingStorage.findItemIdsByIdInAndItemOwnerId(uniqueIds, userId));
+        final Map<Long, Booking> bookings = bookingStorage.findAllBookingsByIdIn(uniqueIds).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        final BookingBatchResultDto[] results = new BookingBatchResultDto[bookingIds.size()];
+        final Map<Long, Integer> acknowledgedIndexes = new LinkedHashMap<>();
+        final Map<Long, List<Booking>> approvedByItem = new HashMap<>();
+        for (int i = 0; i < bookingIds.size(); i++) {
+            final Long bookingId = bookingIds.get(i);
+            final Booking booking = bookings.get(bookingId);
+            if (booking == null) {
+                results[i] = failedEntry(i, HttpStatus.NOT_FOUND, bookingNotFoundMessage(bookingId));
+            } else if (!booking.getItemOwnerId().equals(userId)) {
+                results[i] = failedEntry(i, HttpStatus.NOT_FOUND,
+                        notItemOwnerMessage(userId, booking.getItem().getId()));
+            } else if (!booking.getStatus().equals(BookingStatus.WAITING)
+                    || acknowledgedIndexes.containsKey(bookingId)) {
+                results[i] = failedEntry(i, HttpStatus.BAD_REQUEST, STATUS_NOT_WAITING_MESSAGE);
+            } else if (approved && overlapsApproved(booking, approvedByItem)) {
+                results[i] = failedEntry(i, HttpStatus.BAD_REQUEST, OVERLAP_MESSAGE);
+            } else {
+                acknowledgedIndexes.put(bookingId, i);
+                if (approved) {
+                    approvedByItem.computeIfAbsent(booking.getItem().getId(), id -> new ArrayList<>()).add(booking);
+                }
+            }
+        }
+
+        if (!approvedByItem.isEmpty()) {
+            final Map<Long, Item> claimedItems = new TreeMap<>();
+            approvedByItem.values().forEach(approvedBookings ->
+                    claimedItems.putIfAbsent(approvedBookings.get(0).getItem().getId(),
+                            approvedBookings.get(0).getItem()));
+            claimedItems.values().forEach(this::claimItem);
+            approvedByItem.values().forEach(approvedBookings -> approvedBookings.removeIf(booking -> {
+                if (!overlapsStoredApproved(booking)) {
+                    return false;
+                }
+                final int index = acknowledgedIndexes.remove(booking.getId());
+                results[index] = failedEntry(index, HttpStatus.BAD_REQUEST, OVERLAP_MESSAGE);
+                return true;
+            }));
+        }
+
+        final BookingStatus status = acknowledgedStatus(approved);
+        if (!acknowledgedIndexes.isEmpty()) {
+            final int updated = bookingStorage.updateStatusByIdIn(acknowledgedIndexes.keySet(), status,
+                    BookingStatus.WAITING);
+            if (updated != acknowledgedIndexes.size()) {
+                throw new OptimisticLockingFailureException("Статус бронирований изменён параллельным запросом.");
+            }
+        }
+        approvedByItem.forEach((itemId, approvedBookings) -> approvedBookings.forEach(booking ->
+                approvedBookingIndex.addApproved(itemId, booking.getStart(), booking.getEnd())));
+        acknowledgedIndexes.forEach((bookingId, index) -> {
+            final Booking booking = bookings.get(bookingId);
+            booking.setStatus(status);
+            results[index] = BookingBatchResultDto.builder()
+                    .index(index)
+                    .status(HttpStatus.OK.value())
+                    .booking(bookingMapper.toDto(booking))
+                    .build();
+        });
+        return Arrays.asList(results);
+    }
+
     @Override
     public BookingDto getBookingById(final Long userId, final Long bookingId) {
         findUser(userId);
@@ -90,90 +239,230 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingDto> getAllBookingsFromUser(final Long userId, final GetBookingState state, Long from,
-                                                   Integer size, boolean isOwner) {
+    public Slice<BookingDto> getAllBookingsFromUser(final Long userId, final GetBookingState state, Long from,
+                                                    Integer size, boolean isOwner) {
         findUser(userId);
-        Iterable<Booking> result = new ArrayList<>();
+        final OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
+        final Slice<Booking> result;
         if (isOwner) {
-            result = getBookingFromOwner(userId, state, from, size, result);
+            result = getAllSortedBookingsFromUser(state, userId, pageRequest);
         } else {
-            result = getBookingFromUser(userId, state, from, size, result);
+            result = getAllSortedBookingsFromBooker(state, userId, pageRequest);
         }
-        return bookingMapper.toDtoList(Lists.newArrayList(result));
+        return result.map(bookingMapper::toDto);
     }
 
-    private Iterable<Booking> getBookingFromOwner(Long userId, GetBookingState state, Long from, Integer size, Iterable<Booking> result) {
-        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        result = getAllSortedBookingsFromUser(state, result, userId, pageRequest);
-        return result;
+    @Override
+    public Slice<BookingDto> getAllBookingsFromUserAfter(final Long userId, final GetBookingState state,
+                                                         final BookingCursor after, Integer size, boolean isOwner) {
+        findUser(userId);
+        final OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, size);
+        final Slice<Booking> result;
+        if (isOwner) {
+            result = getOwnerBookingsBeforeCursor(state, userId, after, pageRequest);
+        } else {
+            result = getBookerBookingsBeforeCursor(state, userId, after, pageRequest);
+        }
+        return result.map(bookingMapper::toDto);
     }
 
-    private Iterable<Booking> getBookingFromUser(Long userId, GetBookingState state, Long from, Integer size, Iterable<Booking> result) {
-        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        result = getAllSortedBookingsFromBooker(state, result, userId, pageRequest);
-        return result;
+    private Slice<Booking> getAllSortedBookingsFromUser(final GetBookingState state, final Long userId,
+                                                        Pageable pageable) {
+        final LocalDateTime now = requestClock.now();
+        switch (state) {
+            case CURRENT:
+                return bookingStorage.findCurrentBookingsByOwnerId(userId, now, now, pageable);
+            case PAST:
+                return bookingStorage.findPastBookingsByOwnerId(userId, now, pageable);
+            case FUTURE:
+                return bookingStorage.findFutureBookingsByOwnerId(userId, now, pageable);
+            case WAITING:
+                return bookingStorage.findBookingsByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageable);
+            case REJECTED:
+                return bookingStorage.findBookingsByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
+            default:
+                return bookingStorage.findAllByItemOwnerId(userId, pageable);
+        }
     }
 
-    private Iterable<Booking> getAllSortedBookingsFromUser(final GetBookingState state, Iterable<Booking> result,
-                                                           final Long userId, Pageable pageable) {
+    private Slice<Booking> getAllSortedBookingsFromBooker(final GetBookingState state, final Long bookerId,
+                                                          Pageable pageable) {
+        final LocalDateTime now = requestClock.now();
         switch (state) {
-            case ALL:
-                result = bookingStorage.findAllByItemOwnerId(userId, pageable);
-                break;
             case CURRENT:
-                result = bookingStorage.findCurrentBookingsByOwnerId(userId, LocalDateTime.now(), LocalDateTime.now(),
-                        pageable);
-                break;
+                return bookingStorage.findCurrentBookingsByBookerId(bookerId, now, now, pageable);
             case PAST:
-                result = bookingStorage.findPastBookingsByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
+                return bookingStorage.findPastBookingsByBookerId(bookerId, now, pageable);
             case FUTURE:
-                result = bookingStorage.findFutureBookingsByOwnerId(userId, LocalDateTime.now(), pageable);
-                break;
+                return bookingStorage.findFutureBookingsByBookerId(bookerId, now, pageable);
             case WAITING:
-                result = bookingStorage.findBookingsByOwnerIdAndStatus(userId, BookingStatus.WAITING, pageable);
-                break;
+                return bookingStorage.findBookingsByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
             case REJECTED:
-                result = bookingStorage.findBookingsByOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageable);
-                break;
+                return bookingStorage.findBookingsByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
+            default:
+                return bookingStorage.findAllByBookerId(bookerId, pageable);
         }
-        return result;
     }
 
-    private Iterable<Booking> getAllSortedBookingsFromBooker(final GetBookingState state, Iterable<Booking> result,
-                                                             final Long bookerId, Pageable pageable) {
+    private Slice<Booking> getOwnerBookingsBeforeCursor(final GetBookingState state, final Long ownerId,
+                                                       final BookingCursor cursor, Pageable pageable) {
+        final LocalDateTime now = requestClock.now();
         switch (state) {
-            case ALL:
-                result = bookingStorage.findAllByBookerId(bookerId, pageable);
-                break;
             case CURRENT:
-                result = bookingStorage.findCurrentBookingsByBookerId(bookerId, LocalDateTime.now(), LocalDateTime.now(),
+                return bookingStorage.findCurrentBookingsByOwnerIdBeforeCursor(ownerId, now, now, cursor.getStart(),
+                        cursor.getId(), pageable);
+            case PAST:
+                return bookingStorage.findPastBookingsByOwnerIdBeforeCursor(ownerId, now, cursor.getStart(),
+                        cursor.getId(), pageable);
+            case FUTURE:
+                return bookingStorage.findFutureBookingsByOwnerIdBeforeCursor(ownerId, now, cursor.getStart(),
+                        cursor.getId(), pageable);
+            case WAITING:
+                return bookingStorage.findBookingsByOwnerIdAndStatusBeforeCursor(ownerId, BookingStatus.WAITING,
+                        cursor.getStart(), cursor.getId(), pageable);
+            case REJECTED:
+                return bookingStorage.findBookingsByOwnerIdAndStatusBeforeCursor(ownerId, BookingStatus.REJECTED,
+                        cursor.getStart(), cursor.getId(), pageable);
+            default:
+                return bookingStorage.findAllByItemOwnerIdBeforeCursor(ownerId, cursor.getStart(), cursor.getId(),
                         pageable);
-                break;
+        }
+    }
+
+    private Slice<Booking> getBookerBookingsBeforeCursor(final GetBookingState state, final Long bookerId,
+                                                        final BookingCursor cursor, Pageable pageable) {
+        final LocalDateTime now = requestClock.now();
+        switch (state) {
+            case CURRENT:
+                return bookingStorage.findCurrentBookingsByBookerIdBeforeCursor(bookerId, now, now, cursor.getStart(),
+                        cursor.getId(), pageable);
             case PAST:
-                result = bookingStorage.findPastBookingsByBookerId(bookerId, LocalDateTime.now(), pageable);
-                break;
+                return bookingStorage.findPastBookingsByBookerIdBeforeCursor(bookerId, now, cursor.getStart(),
+                        cursor.getId(), pageable);
             case FUTURE:
-                result = bookingStorage.findFutureBookingsByBookerId(bookerId, LocalDateTime.now(), pageable);
-                break;
+                return bookingStorage.findFutureBookingsByBookerIdBeforeCursor(bookerId, now, cursor.getStart(),
+                        cursor.getId(), pageable);
             case WAITING:
-                result = bookingStorage.findBookingsByBookerIdAndStatus(bookerId, BookingStatus.WAITING, pageable);
-                break;
+                return bookingStorage.findBookingsByBookerIdAndStatusBeforeCursor(bookerId, BookingStatus.WAITING,
+                        cursor.getStart(), cursor.getId(), pageable);
             case REJECTED:
-                result = bookingStorage.findBookingsByBookerIdAndStatus(bookerId, BookingStatus.REJECTED, pageable);
-                break;
+                return bookingStorage.findBookingsByBookerIdAndStatusBeforeCursor(bookerId, BookingStatus.REJECTED,
+                        cursor.getStart(), cursor.getId(), pageable);
+            default:
+                return bookingStorage.findAllByBookerIdBeforeCursor(bookerId, cursor.getStart(), cursor.getId(),
+                        pageable);
         }
-        return result;
     }
 
     private User findUser(final Long userId) {
-        return userStorage.findById(userId)
+        return userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id '" + userId + "' не найден."));
     }
 
     private Booking findBooking(final Long bookingId) {
         return bookingStorage.findBookingById(bookingId)
-                .orElseThrow(() -> new NotFoundException("Бронирование с id '" + bookingId + "' не найдено."));
+                .orElseThrow(() -> new NotFoundException(bookingNotFoundMessage(bookingId)));
+    }
+
+    private BookingStatus acknowledgedStatus(final Boolean approved) {
+        return approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+    }
+
+    private String bookingNotFoundMessage(final Long bookingId) {
+        return "Бронирование с id '" + bookingId + "' не найдено.";
+    }
+
+    private String notItemOwnerMessage(final Long userId, final Long itemId) {
+        return "Пользователь с id '" + userId + "' не является владельцем вещи с id '" + itemId + "'.";
+    }
+
+    private Booking createBooking(final Long userId, final User booker, final Item item,
+                                  final AddBookingDto bookingDto) {
+        checkItemAvailability(item);
+        if (item.getOwner().getId().equals(userId)) {
+            throw new NotAuthorizedException("Вещь с id '" + item.getId() +
+                    "' уже принадлежит пользователю с id '" + userId + "'.");
+        }
+        checkNoConfirmedApprovedOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
+        return Booking.builder()
+                .item(item)
+                .itemOwnerId(item.getOwner().getId())
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .start(bookingDto.getStart())
+                .end(bookingDto.getEnd())
+                .build();
+    }
+
+    private void checkNoApprovedOverlap(final Long itemId, final LocalDateTime start, final LocalDateTime end) {
+        if (approvedBookingIndex.overlaps(itemId, start, end)) {
+            throw new ItemUnavailableException(OVERLAP_MESSAGE);
+        }
+    }
+
+    /**
+     * The index only knows the approvals committed on this instance since it loaded the item, so a period it
+     * reports as free is checked against the database before a booking is created for it.
+     */
+    private void checkNoConfirmedApprovedOverlap(final Long itemId, final LocalDateTime start,
+                                                 final LocalDateTime end) {
+        checkNoApprovedOverlap(itemId, start, end);
+        if (bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED, end,
+                start)) {
+            throw new ItemUnavailableException(OVERLAP_MESSAGE);
+        }
+    }
+
+    /**
+     * Bumps the version of the item before its bookings are approved. The update holds the item row lock
+     * until commit, so approvals of one item run one after another and see each other's results, while
+     * approvals of other items are not blocked; a concurrent edit of the item fails its version check.
+     */
+    private void claimItem(final Item item) {
+        if (itemStorage.incrementVersion(item.getId()) == 0) {
+            throw itemNotFound(item.getId());
+        }
+    }
+
+    private boolean overlapsStoredApproved(final Booking booking) {
+        return bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                BookingStatus.APPROVED, booking.getEnd(), booking.getStart());
+    }
+
+    private boolean overlapsApproved(final Booking booking, final Map<Long, List<Booking>> approvedByItem) {
+        final Long itemId = booking.getItem().getId();
+        if (approvedBookingIndex.overlaps(itemId, booking.getStart(), booking.getEnd())) {
+            return true;
+        }
+        return approvedByItem.getOrDefault(itemId, List.of()).stream()
+                .anyMatch(approved -> approved.getStart().isBefore(booking.getEnd())
+                        && booking.getStart().isBefore(approved.getEnd()));
+    }
+
+    private String validate(final AddBookingDto bookingDto) {
+        if (bookingDto == null) {
+            return "Не заданы параметры бронирования.";
+        }
+        final Set<ConstraintViolation<AddBookingDto>> violations = validator.validate(bookingDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    private BookingBatchResultDto failedEntry(final int index, final HttpStatus status, final String error) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+
+    private NotFoundException itemNotFound(final Long itemId) {
+        return new NotFoundException("Вещь с id '" + itemId + "' не найдена.");
     }
 
     private void checkItemAvailability(final Item item) {
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.booking.lock")
+@Getter
+@Setter
+public class ItemLockProperties {
+
+    /**
+     * Number of locks the item ids are spread over.
+     */
+    private int stripes = 256;
+
+    /**
+     * How long a booking change waits for the lock of its item before failing with a conflict.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.service;
+
+import com.google.common.util.concurrent.Striped;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Striped locks keyed by item id that serialize booking changes of one item within this instance, while
+ * changes of items on other stripes run in parallel. A lock is taken inside the transaction and released
+ * after it completes, so the next holder reads the committed result.
+ */
+@Component
+@EnableConfigurationProperties(ItemLockProperties.class)
+public class ItemLocks {
+
+    static final String ACQUISITIONS_METRIC = "shareit.item.lock.acquisitions";
+
+    static final String WAIT_METRIC = "shareit.item.lock.wait";
+
+    private final ItemLockProperties properties;
+
+    private final Striped<Lock> locks;
+
+    private final Counter uncontended;
+
+    private final Counter contended;
+
+    private final Timer waitTimer;
+
+    public ItemLocks(final ItemLockProperties properties, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.locks = Striped.lock(properties.getStripes());
+        this.uncontended = meterRegistry.counter(ACQUISITIONS_METRIC, "contended", "false");
+        this.contended = meterRegistry.counter(ACQUISITIONS_METRIC, "contended", "true");
+        this.waitTimer = meterRegistry.timer(WAIT_METRIC);
+    }
+
+    public void lockUntilCompletion(final Long itemId) {
+        lockUntilCompletion(List.of(itemId));
+    }
+
+    /**
+     * Locks the stripes of all given items in stripe order, so transactions locking several items cannot
+     * deadlock each other.
+     */
+    public void lockUntilCompletion(final Collection<Long> itemIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Item locks are held until the transaction completes and require one.");
+        }
+        for (Lock lock : locks.bulkGet(itemIds)) {
+            acquire(lock);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    lock.unlock();
+                }
+            });
+        }
+    }
+
+    private void acquire(final Lock lock) {
+        if (lock.tryLock()) {
+            uncontended.increment();
+            return;
+        }
+        contended.increment();
+        final long startNanos = System.nanoTime();
+        try {
+            if (!lock.tryLock(properties.getTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new CannotAcquireLockException("Timed out waiting for the item lock.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted while waiting for the item lock.", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking.storage;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-item index of APPROVED booking periods used to reject overlapping bookings and to answer availability
+ * lookups. The periods of an item are loaded from the database on its first lookup and kept in a bounded
+ * cache for a limited time counted from the load; approvals are added after their transaction commits, and only to items that are already loaded, so
+ * a later load picks them up from the database instead. A load runs outside the cache's locks and is only
+ * kept if no approval of the same stripe of items committed while it ran. Rejections only ever affect
+ * WAITING bookings and leave the index unchanged. The index is local to one instance and does not see
+ * approvals committed by other instances until the item is loaded again, so an overlap it reports is final
+ * while a free period it reports has to be confirmed against the database where correctness depends on it.
+ */
+@Component
+@EnableConfigurationProperties(ApprovedBookingIndexProperties.class)
+public class ApprovedBookingIndex {
+
+    private static final long MICROS_PER_HOUR = 3_600_000_000L;
+
+    private static final int APPROVAL_STRIPES = 64;
+
+    private final BookingStorage bookingStorage;
+
+    private final ConcurrentMap<Long, BookingIntervals> schedules;
+
+    private final AtomicLongArray approvals = new AtomicLongArray(APPROVAL_STRIPES);
+
+    public ApprovedBookingIndex(final BookingStorage bookingStorage,
+                                final ApprovedBookingIndexProperties properties) {
+        this.bookingStorage = bookingStorage;
+        final long expireAfterLoadNanos = properties.getExpireAfterWrite().toNanos();
+        this.schedules = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxItems())
+                .expireAfter(new Expiry<Long, BookingIntervals>() {
+                    @Override
+                    public long expireAfterCreate(Long itemId, BookingIntervals intervals, long currentTime) {
+                        return expireAfterLoadNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long itemId, BookingIntervals intervals, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long itemId, BookingIntervals intervals, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .<Long, BookingIntervals>build()
+                .asMap();
+    }
+
+    public boolean overlaps(final Long itemId, final LocalDateTime start, final LocalDateTime end) {
+        return schedule(itemId).overlaps(toMicros(start), toMicros(end));
+    }
+
+    /**
+     * Whole hours within {@code [from, to)} that no approved booking of the item touches, cut to the window.
+     */
+    public List<AvailabilitySlotDto> findFreeSlots(final Long itemId, final LocalDateTime from,
+                                                   final LocalDateTime to) {
+        final long fromMicros = toMicros(from);
+        final long toMicros = toMicros(to);
+        final List<long[]> busyHours = new ArrayList<>();
+        for (long[] period : schedule(itemId).overlapping(fromMicros, toMicros)) {
+            busyHours.add(new long[]{floorHour(period[0]), ceilHour(period[1])});
+        }
+        final List<long[]> freeHours = BusyHours.within(floorHour(fromMicros), ceilHour(toMicros), busyHours)
+                .freeRanges();
+        final List<AvailabilitySlotDto> slots = new ArrayList<>(freeHours.size());
+        for (long[] range : freeHours) {
+            final LocalDateTime start = range[0] * MICROS_PER_HOUR <= fromMicros ? from : fromHour(range[0]);
+            final LocalDateTime end = range[1] * MICROS_PER_HOUR >= toMicros ? to : fromHour(range[1]);
+            slots.add(new AvailabilitySlotDto(start, end));
+        }
+        return slots;
+    }
+
+    public void addApproved(final Long itemId, final LocalDateTime start, final LocalDateTime end) {
+        final long startMicros = toMicros(start);
+        final long endMicros = toMicros(end);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(itemId, startMicros, endMicros);
+                }
+            });
+        } else {
+            apply(itemId, startMicros, endMicros);
+        }
+    }
+
+    private BookingIntervals schedule(final Long itemId) {
+        final BookingIntervals cached = schedules.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+        final int stripe = stripe(itemId);
+        final long approvalsBefore = approvals.get(stripe);
+        final BookingIntervals loaded = load(itemId);
+        final BookingIntervals raced = schedules.putIfAbsent(itemId, loaded);
+        if (raced != null) {
+            return raced;
+        }
+        if (approvals.get(stripe) != approvalsBefore) {
+            schedules.remove(itemId, loaded);
+        }
+        return loaded;
+    }
+
+    private void apply(final Long itemId, final long start, final long end) {
+        approvals.incrementAndGet(stripe(itemId));
+        schedules.computeIfPresent(itemId, (id, intervals) -> intervals.with(start, end));
+    }
+
+    private BookingIntervals load(final Long itemId) {
+        final List<BookingPeriod> periods = bookingStorage.findAllByItemIdAndStatus(itemId, BookingStatus.APPROVED);
+        if (periods.isEmpty()) {
+            return BookingIntervals.EMPTY;
+        }
+        final long[] starts = new long[periods.size()];
+        final long[] ends = new long[periods.size()];
+        for (int i = 0; i < periods.size(); i++) {
+            starts[i] = toMicros(periods.get(i).getStart());
+            ends[i] = toMicros(periods.get(i).getEnd());
+        }
+        return BookingIntervals.of(starts, ends);
+    }
+
+    private static int stripe(final Long itemId) {
+        return Long.hashCode(itemId) & (APPROVAL_STRIPES - 1);
+    }
+
+    private static long toMicros(final LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    private static long floorHour(final long micros) {
+        return Math.floorDiv(micros, MICROS_PER_HOUR);
+    }
+
+    private static long ceilHour(final long micros) {
+        return -Math.floorDiv(-micros, MICROS_PER_HOUR);
+    }
+
+    private static LocalDateTime fromHour(final long hour) {
+        return LocalDateTime.ofEpochSecond(hour * 3_600L, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking.storage;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.booking.index")
+@Getter
+@Setter
+public class ApprovedBookingIndexProperties {
+
+    /**
+     * Number of items whose approved periods are kept in memory; the least recently used are evicted and
+     * read from the database again on their next lookup.
+     */
+    private long maxItems = 10_000;
+
+    /**
+     * How long the approved periods of an item are kept after they were read from the database. Approvals
+     * committed on this instance do not extend it, so approvals from other instances show up within this time.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(1);
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.booking.storage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable set of half-open {@code [start, end)} intervals of one item, kept as starts sorted ascending
+ * together with the running maximum of ends. An interval overlaps the set when some stored interval starts
+ * before its end and ends after its start: the first condition selects a prefix found by binary search, the
+ * second is answered by the running maximum of that prefix, so a lookup is O(log n) even if stored intervals
+ * overlap each other. Adding copies the arrays, which is cheap next to the lookups it serves.
+ */
+final class BookingIntervals {
+
+    static final BookingIntervals EMPTY = new BookingIntervals(new long[0], new long[0], new long[0]);
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+
+    private BookingIntervals(final long[] starts, final long[] ends, final long[] maxEnds) {
+        this.starts = starts;
+        this.ends = ends;
+        this.maxEnds = maxEnds;
+    }
+
+    static BookingIntervals of(final long[] starts, final long[] ends) {
+        final Integer[] order = new Integer[starts.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (left, right) -> Long.compare(starts[left], starts[right]));
+        final long[] sortedStarts = new long[starts.length];
+        final long[] sortedEnds = new long[ends.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        final long[] maxEnds = new long[ends.length];
+        fillMaxEnds(sortedEnds, maxEnds, 0);
+        return new BookingIntervals(sortedStarts, sortedEnds, maxEnds);
+    }
+
+    boolean overlaps(final long start, final long end) {
+        final int startedBefore = countStartsBefore(end);
+        return startedBefore > 0 && maxEnds[startedBefore - 1] > start;
+    }
+
+    BookingIntervals with(final long start, final long end) {
+        final int position = countStartsBefore(start);
+        final int size = starts.length;
+        final long[] newStarts = new long[size + 1];
+        final long[] newEnds = new long[size + 1];
+        System.arraycopy(starts, 0, newStarts, 0, position);
+        System.arraycopy(ends, 0, newEnds, 0, position);
+        newStarts[position] = start;
+        newEnds[position] = end;
+        System.arraycopy(starts, position, newStarts, position + 1, size - position);
+        System.arraycopy(ends, position, newEnds, position + 1, size - position);
+        final long[] newMaxEnds = new long[size + 1];
+        System.arraycopy(maxEnds, 0, newMaxEnds, 0, position);
+        fillMaxEnds(newEnds, newMaxEnds, position);
+        return new BookingIntervals(newStarts, newEnds, newMaxEnds);
+    }
+
+    /**
+     * Stored intervals overlapping {@code [start, end)} as {@code {start, end}} pairs, ordered by start. Intervals
+     * before the first running maximum past {@code start} all end by then and are skipped by binary search.
+     */
+    List<long[]> overlapping(final long start, final long end) {
+        final int to = countStartsBefore(end);
+        final List<long[]> result = new ArrayList<>();
+        for (int i = countMaxEndsAtMost(start, to); i < to; i++) {
+            if (ends[i] > start) {
+                result.add(new long[]{starts[i], ends[i]});
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return starts.length;
+    }
+
+    private int countStartsBefore(final long value) {
+        int low = 0;
+        int high = starts.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (starts[middle] < value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int countMaxEndsAtMost(final long value, final int limit) {
+        int low = 0;
+        int high = limit;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (maxEnds[middle] <= value) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static void fillMaxEnds(final long[] ends, final long[] maxEnds, final int from) {
+        long max = from == 0 ? Long.MIN_VALUE : maxEnds[from - 1];
+        for (int i = from; i < ends.length; i++) {
+            max = Math.max(max, ends[i]);
+            maxEnds[i] = max;
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.booking.storage;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
@@ -10,60 +14,122 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface BookingStorage extends JpaRepository<Booking, Long> {
 
     @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.id = ?1")
     Optional<Booking> findBookingById(Long bookingId);
 
-    @Query("SELECT b FROM Booking b JOIN b.item i JOIN FETCH b.booker u WHERE i.id = ?1")
-    List<Booking> findAllByItemId(Long itemId);
+    @Query("SELECT b.item.id FROM Booking b WHERE b.id = ?1")
+    Optional<Long> findItemIdById(Long bookingId);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.id = ?1 AND u.id = ?2")
-    List<Booking> findAllByItemIdAndBookerId(Long itemId, Long bookerId);
+    @Query("SELECT DISTINCT b.item.id FROM Booking b WHERE b.id IN ?1 AND b.itemOwnerId = ?2")
+    Set<Long> findItemIdsByIdInAndItemOwnerId(Collection<Long> bookingIds, Long ownerId);
+
+    List<BookingPeriod> findAllByItemIdAndStatus(Long itemId, BookingStatus status);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.id IN ?1")
+    List<Booking> findAllBookingsByIdIn(Collection<Long> bookingIds);
+
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, BookingStatus status, LocalDateTime end,
+                                                             LocalDateTime start);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = ?2, b.version = b.version + 1 WHERE b.id IN ?1 AND b.status = ?3")
+    int updateStatusByIdIn(Collection<Long> bookingIds, BookingStatus status, BookingStatus currentStatus);
 
-    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.id IN ?1")
-    List<Booking> findAllByItemIdIn(Collection<Long> itemIds);
+    @EntityGraph(attributePaths = "booker")
+    Optional<Booking> findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(Long itemId, BookingStatus status,
+                                                                                   LocalDateTime now);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.item.owner.id = ?1 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN FETCH b.booker u WHERE b.item.owner.id = ?1 ORDER BY b.start DESC")
-    List<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
+    @EntityGraph(attributePaths = "booker")
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(Long itemId, BookingStatus status,
+                                                                                 LocalDateTime now);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE i.owner.id = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByOwnerId(Long ownerId, LocalDateTime startBefore,
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.id = ?1 AND u.id = ?2 ORDER BY b.start")
+    List<Booking> findAllByItemIdAndBookerId(Long itemId, Long bookerId);
+
+    @Query(value = "SELECT r.id, r.item_id, r.user_id, r.item_owner_id, r.status, r.start_date, r.end_date, r.version " +
+            "FROM (SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id, b.start_date < ?2 " +
+            "ORDER BY CASE WHEN b.start_date < ?2 THEN b.end_date END DESC, " +
+            "CASE WHEN b.start_date < ?2 THEN b.id END DESC, " +
+            "CASE WHEN b.start_date > ?2 THEN b.start_date END, " +
+            "CASE WHEN b.start_date > ?2 THEN b.id END) AS rn " +
+            "FROM bookings b WHERE b.item_id IN ?1 AND b.status = 'APPROVED' AND b.start_date <> ?2) r " +
+            "WHERE r.rn = 1", nativeQuery = true)
+    List<Booking> findLastAndNextApprovedBookingsByItemIdIn(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByItemOwnerId(Long ownerId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findCurrentBookingsByOwnerId(Long ownerId, LocalDateTime startBefore,
                                                LocalDateTime endAfter, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.end <= ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE i.owner.id = ?1 AND b.end <= ?2 ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByOwnerId(Long ownerId, LocalDateTime endBefore, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.end <= ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findPastBookingsByOwnerId(Long ownerId, LocalDateTime endBefore, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.start >= ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE i.owner.id = ?1 AND b.start >= ?2 ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByOwnerId(Long ownerId, LocalDateTime startAfter, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.start >= ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findFutureBookingsByOwnerId(Long ownerId, LocalDateTime startAfter, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE i.owner.id = ?1 AND b.status = ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE i.owner.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
-    List<Booking> findBookingsByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.status = ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findBookingsByOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.booker.id = ?1 ORDER BY b.start DESC")
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.booker.id = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByBookerId(Long ownerId, LocalDateTime startBefore,
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start <= ?2 AND b.end >= ?3 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findCurrentBookingsByBookerId(Long ownerId, LocalDateTime startBefore,
                                                 LocalDateTime endAfter, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.end <= ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.booker.id = ?1 AND b.end <= ?2 ORDER BY b.start DESC")
-    List<Booking> findPastBookingsByBookerId(Long ownerId, LocalDateTime endBefore, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.end <= ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findPastBookingsByBookerId(Long ownerId, LocalDateTime endBefore, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start >= ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findFutureBookingsByBookerId(Long ownerId, LocalDateTime startAfter, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findBookingsByBookerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByItemOwnerIdBeforeCursor(Long ownerId, LocalDateTime cursorStart, Long cursorId,
+                                                   Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.start <= ?2 AND b.end >= ?3 AND (b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findCurrentBookingsByOwnerIdBeforeCursor(Long ownerId, LocalDateTime startBefore,
+                                                           LocalDateTime endAfter, LocalDateTime cursorStart,
+                                                           Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.end <= ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findPastBookingsByOwnerIdBeforeCursor(Long ownerId, LocalDateTime endBefore, LocalDateTime cursorStart,
+                                                        Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.start >= ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findFutureBookingsByOwnerIdBeforeCursor(Long ownerId, LocalDateTime startAfter, LocalDateTime cursorStart,
+                                                          Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.itemOwnerId = ?1 AND b.status = ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findBookingsByOwnerIdAndStatusBeforeCursor(Long ownerId, BookingStatus status, LocalDateTime cursorStart,
+                                                             Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE u.id = ?1 AND (b.start < ?2 OR (b.start = ?2 AND b.id < ?3)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findAllByBookerIdBeforeCursor(Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE u.id = ?1 AND b.start <= ?2 AND b.end >= ?3 AND (b.start < ?4 OR (b.start = ?4 AND b.id < ?5)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findCurrentBookingsByBookerIdBeforeCursor(Long bookerId, LocalDateTime startBefore,
+                                                            LocalDateTime endAfter, LocalDateTime cursorStart,
+                                                            Long cursorId, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE u.id = ?1 AND b.end <= ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findPastBookingsByBookerIdBeforeCursor(Long bookerId, LocalDateTime endBefore, LocalDateTime cursorStart,
+                                                         Long cursorId, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.start >= ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.booker.id = ?1 AND b.start >= ?2 ORDER BY b.start DESC")
-    List<Booking> findFutureBookingsByBookerId(Long ownerId, LocalDateTime startAfter, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE u.id = ?1 AND b.start >= ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findFutureBookingsByBookerIdBeforeCursor(Long bookerId, LocalDateTime startAfter, LocalDateTime cursorStart,
+                                                           Long cursorId, Pageable pageable);
 
-    @Query(value = "SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC",
-            countQuery = "SELECT COUNT(b) FROM Booking b JOIN b.item i JOIN b.booker u WHERE b.booker.id = ?1 AND b.status = ?2 ORDER BY b.start DESC")
-    List<Booking> findBookingsByBookerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query("SELECT b FROM Booking b JOIN FETCH b.item i JOIN FETCH b.booker u WHERE u.id = ?1 AND b.status = ?2 AND (b.start < ?3 OR (b.start = ?3 AND b.id < ?4)) ORDER BY b.start DESC, b.id DESC")
+    Slice<Booking> findBookingsByBookerIdAndStatusBeforeCursor(Long bookerId, BookingStatus status, LocalDateTime cursorStart,
+                                                              Long cursorId, Pageable pageable);
 }
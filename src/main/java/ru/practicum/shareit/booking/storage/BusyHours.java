@@ -0,0 +1,55 @@
+package ru.practicum.shareit.booking.storage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Hour-granularity bitmap of the time an item is booked within one requested window: bit {@code i} stands for
+ * the hour that starts {@code fromHour + i} hours after the epoch, and an hour is busy when a booking covers
+ * any part of it. Bookings are clipped to the window, so the bitmap never grows beyond the window however far
+ * in the future or however long the bookings are.
+ */
+final class BusyHours {
+
+    private final long fromHour;
+    private final long toHour;
+    private final BitSet hours;
+
+    private BusyHours(final long fromHour, final long toHour, final BitSet hours) {
+        this.fromHour = fromHour;
+        this.toHour = toHour;
+        this.hours = hours;
+    }
+
+    /**
+     * Marks the given {@code [start, end)} hour ranges, as far as they fall within {@code [fromHour, toHour)}.
+     */
+    static BusyHours within(final long fromHour, final long toHour, final List<long[]> busyRanges) {
+        final BitSet hours = new BitSet(Math.toIntExact(Math.max(0, toHour - fromHour)));
+        for (long[] range : busyRanges) {
+            final long start = Math.max(range[0], fromHour);
+            final long end = Math.min(range[1], toHour);
+            if (start < end) {
+                hours.set((int) (start - fromHour), (int) (end - fromHour));
+            }
+        }
+        return new BusyHours(fromHour, toHour, hours);
+    }
+
+    /**
+     * Free {@code [start, end)} hour ranges of the window, in ascending order.
+     */
+    List<long[]> freeRanges() {
+        final List<long[]> free = new ArrayList<>();
+        final int size = (int) Math.max(0, toHour - fromHour);
+        int freeStart = hours.nextClearBit(0);
+        while (freeStart < size) {
+            final int busy = hours.nextSetBit(freeStart);
+            final int freeEnd = busy < 0 ? size : Math.min(busy, size);
+            free.add(new long[]{fromHour + freeStart, fromHour + freeEnd});
+            freeStart = hours.nextClearBit(freeEnd);
+        }
+        return free;
+    }
+}
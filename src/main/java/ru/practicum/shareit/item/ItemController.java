@@ -1,19 +1,24 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
-import ru.practicum.shareit.item.dto.GetItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.shared.SliceResponse;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -44,18 +49,32 @@ public class ItemController {
         return itemService.findItemById(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime to) {
+        return itemService.getItemAvailability(userId, itemId, from, to);
+    }
+
     @GetMapping
-    public List<GetItemDto> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
-        return itemService.findAllItemsByUserId(userId, from, size);
+    public ResponseEntity<List<GetItemDto>> getAllItemsByUserId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
+                                                                @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+        return SliceResponse.of(itemService.findAllItemsByUserId(userId, from, size));
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
-                                     @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
-        return itemService.searchItems(text, from, size);
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam String text,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
+                                                     @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+        return SliceResponse.of(itemService.searchItems(text, start, end, from, size));
     }
 
     @PostMapping("/{itemId}/comment")
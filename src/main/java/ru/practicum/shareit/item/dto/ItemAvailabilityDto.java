@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Availability of an item within {@code [from, to)}. {@code available} tells whether the whole window is
+ * free of approved bookings; {@code freeSlots} lists the whole hours of the window no approved booking
+ * touches, cut to the window bounds.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ItemAvailabilityDto {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private Boolean available;
+
+    private List<AvailabilitySlotDto> freeSlots;
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+@Value
+@AllArgsConstructor(staticName = "of")
+public class ItemView {
+
+    Long ownerId;
+
+    GetItemDto item;
+
+    public GetItemDto toDto() {
+        final GetItemDto dto = new GetItemDto(item.getId(), item.getName(), item.getDescription(),
+                item.getAvailable(), null, null);
+        dto.getComments().addAll(item.getComments());
+        return dto;
+    }
+}
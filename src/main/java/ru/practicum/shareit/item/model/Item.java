@@ -18,7 +18,9 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import java.util.Objects;
 
 @Entity
@@ -32,7 +34,8 @@ import java.util.Objects;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "item_name", nullable = false)
@@ -54,6 +57,9 @@ public class Item {
     @ToString.Exclude
     private ItemRequest request;
 
+    @Version
+    private Long version;
+
     @Override
     public final boolean equals(Object o) {
         if (this == o) return true;
@@ -1,12 +1,14 @@
 package ru.practicum.shareit.item.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 public interface ItemService {
     ItemDto addItem(Long userId, ItemDto itemDto);
@@ -15,9 +17,11 @@ public interface ItemService {
 
     GetItemDto findItemById(Long userId, Long itemId);
 
-    List<GetItemDto> findAllItemsByUserId(Long userId, Long from, Integer size);
+    Slice<GetItemDto> findAllItemsByUserId(Long userId, Long from, Integer size);
 
-    List<ItemDto> searchItems(String text, Long from, Integer size);
+    Slice<ItemDto> searchItems(String text, LocalDateTime start, LocalDateTime end, Long from, Integer size);
 
     CommentDto addCommentToItem(Long userId, Long itemId, AddCommentDto commentDto);
+
+    ItemAvailabilityDto getItemAvailability(Long userId, Long itemId, LocalDateTime from, LocalDateTime to);
 }
@@ -1,36 +1,46 @@
 package ru.practicum.shareit.item.service;
 
-import com.google.common.collect.Lists;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.item.dto.AddCommentDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemSearch;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.shared.OffsetPageRequest;
+import ru.practicum.shareit.shared.exception.InvalidPeriodException;
 import ru.practicum.shareit.shared.exception.ItemUnavailableException;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.retry.RetryOnConflict;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
 import javax.transaction.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -39,14 +49,21 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 public class ItemServiceImpl implements ItemService {
+
+    private static final Duration MAX_AVAILABILITY_PERIOD = Duration.ofDays(366);
+
     private final ItemStorage itemStorage;
-    private final UserStorage userStorage;
+    private final ItemSearch itemSearch;
+    private final ItemViewCache itemViewCache;
+    private final UserCache userCache;
     private final BookingStorage bookingStorage;
     private final CommentStorage commentStorage;
     private final ItemRequestStorage itemRequestStorage;
     private final ItemMapper itemMapper;
     private final BookingMapper bookingMapper;
     private final CommentMapper commentMapper;
+    private final RequestClock requestClock;
+    private final ApprovedBookingIndex approvedBookingIndex;
 
     @Override
     @Transactional
@@ -56,11 +73,14 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(owner);
         assignRequestToItem(itemDto, item);
         final Item addedItem = itemStorage.save(item);
+        itemSearch.index(addedItem);
         return itemMapper.toDto(addedItem);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
+    @CacheEvict(cacheNames = ItemViewCache.ITEMS_CACHE, key = "#itemId")
     public ItemDto updateItem(final Long userId, final Long itemId, final ItemUpdateDto itemUpdateDto) {
         getUser(userId);
         final Item item = getItem(itemId);
@@ -77,52 +97,67 @@ public class ItemServiceImpl implements ItemService {
             item.setAvailable(itemUpdateDto.getAvailable());
         }
         final Item updatedItem = itemStorage.save(item);
+        itemSearch.index(updatedItem);
         return itemMapper.toDto(updatedItem);
     }
 
     @Override
     public GetItemDto findItemById(final Long userId, final Long itemId) {
         getUser(userId);
+        final ItemView itemView = itemViewCache.findView(itemId);
+        if (!itemView.getOwnerId().equals(userId)) {
+            return itemView.toDto();
+        }
         final Item item = getItem(itemId);
-        List<Booking> itemBookings = bookingStorage.findAllByItemId(itemId);
-        GetItemDto itemWithBookingDatesDto;
-        if (item.getOwner().getId().equals(userId)) {
-            itemWithBookingDatesDto = getItemWithBookings(item, itemBookings);
-        } else {
-            itemWithBookingDatesDto = itemMapper.toWithBookingsDto(item);
-        }
-        List<Comment> comments = commentStorage.findAllByItemId(item.getId());
-        itemWithBookingDatesDto.getComments().addAll(commentMapper.toDtoList(comments));
+        final LocalDateTime now = requestClock.now();
+        final Optional<Booking> lastBooking = bookingStorage
+                .findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(itemId, BookingStatus.APPROVED, now);
+        final Optional<Booking> nextBooking = bookingStorage
+                .findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(itemId, BookingStatus.APPROVED, now);
+        GetItemDto itemWithBookingDatesDto = itemMapper.toGetItemDto(item,
+                bookingMapper.toShortDto(lastBooking.orElse(null)),
+                bookingMapper.toShortDto(nextBooking.orElse(null)));
+        itemWithBookingDatesDto.getComments().addAll(itemView.getItem().getComments());
         return itemWithBookingDatesDto;
     }
 
     @Override
-    public List<GetItemDto> findAllItemsByUserId(final Long userId, Long from, Integer size) {
+    public Slice<GetItemDto> findAllItemsByUserId(final Long userId, Long from, Integer size) {
         getUser(userId);
         OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        final List<Item> items = itemStorage.findAllByOwnerIdOrderById(userId, pageRequest);
+        final Slice<Item> itemSlice = itemStorage.findAllByOwnerIdOrderById(userId, pageRequest);
+        final List<Item> items = itemSlice.getContent();
         final List<Long> itemIds = items.stream()
                 .map(Item::getId).collect(Collectors.toList());
-        final List<Booking> bookingFromIds = bookingStorage.findAllByItemIdIn(itemIds);
+        final LocalDateTime now = requestClock.now();
+        final List<Booking> bookingFromIds = bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(itemIds, now);
         List<Comment> itemsComments = commentStorage.findAllByItemIdIn(itemIds);
         final List<GetItemDto> itemsWithBookings =
-                getItemsWithBookingsAndComments(items, bookingFromIds, itemsComments);
-        return itemsWithBookings;
+                getItemsWithBookingsAndComments(items, bookingFromIds, itemsComments, now);
+        return new SliceImpl<>(itemsWithBookings, itemSlice.getPageable(), itemSlice.hasNext());
     }
 
     @Override
-    public List<ItemDto> searchItems(final String text, Long from, Integer size) {
+    public Slice<ItemDto> searchItems(final String text, final LocalDateTime start, final LocalDateTime end,
+                                      Long from, Integer size) {
+        if ((start == null) != (end == null)) {
+            throw new InvalidPeriodException("Начало и конец периода должны быть указаны вместе.");
+        }
+        if (start != null) {
+            checkPeriod(start, end);
+        }
         if (text.isBlank()) {
-            return Collections.emptyList();
+            return new SliceImpl<>(Collections.emptyList());
         }
-        String searchText = "%" + text.toLowerCase() + "%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        final Iterable<Item> searchResult = itemStorage.searchInTitleAndDescription(searchText, pageRequest);
-        return itemMapper.toDtoList(Lists.newArrayList(searchResult));
+        final Slice<Item> searchResult = start == null ? itemSearch.search(text, pageRequest)
+                : itemSearch.search(text, start, end, pageRequest);
+        return searchResult.map(itemMapper::toDto);
     }
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = ItemViewCache.ITEMS_CACHE, key = "#itemId")
     public CommentDto addCommentToItem(final Long userId, final Long itemId, final AddCommentDto commentDto) {
         final User user = getUser(userId);
         final Item item = getItem(itemId);
@@ -132,50 +167,67 @@ public class ItemServiceImpl implements ItemService {
                 .text(commentDto.getText())
                 .item(item)
                 .author(user)
-                .created(LocalDateTime.now())
+                .created(requestClock.now())
                 .build();
         Comment savedComment = commentStorage.save(comment);
         return commentMapper.toDto(savedComment);
     }
 
-    private List<GetItemDto> getItemsWithBookingsAndComments(List<Item> items, List<Booking> bookings, List<Comment> comments) {
+    @Override
+    public ItemAvailabilityDto getItemAvailability(final Long userId, final Long itemId, final LocalDateTime from,
+                                                   final LocalDateTime to) {
+        getUser(userId);
+        checkPeriod(from, to);
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_PERIOD) > 0) {
+            throw new InvalidPeriodException("Период не может быть длиннее " + MAX_AVAILABILITY_PERIOD.toDays() +
+                    " дней.");
+        }
+        if (!itemStorage.existsById(itemId)) {
+            throw new NotFoundException("Вещь с id '" + itemId + "' не найдена.");
+        }
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(!approvedBookingIndex.overlaps(itemId, from, to))
+                .freeSlots(approvedBookingIndex.findFreeSlots(itemId, from, to))
+                .build();
+    }
+
+    private List<GetItemDto> getItemsWithBookingsAndComments(List<Item> items, List<Booking> bookings,
+                                                             List<Comment> comments, LocalDateTime now) {
         if (bookings.isEmpty()) {
             return itemMapper.toWithBookingsDtoList(items);
         }
-        final Map<Long, List<Booking>> itemIdToBookings = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
+        final Map<Long, Booking> itemIdToLastBooking = new HashMap<>();
+        final Map<Long, Booking> itemIdToNextBooking = new HashMap<>();
+        for (Booking booking : bookings) {
+            final Long itemId = booking.getItem().getId();
+            if (booking.getStart().isBefore(now)) {
+                itemIdToLastBooking.put(itemId, booking);
+            } else {
+                itemIdToNextBooking.put(itemId, booking);
+            }
+        }
         Map<Long, List<Comment>> itemIdToComments = comments.stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
         final List<GetItemDto> result = new ArrayList<>();
         for (Item item : items) {
             final Long itemId = item.getId();
-            List<Booking> itemBookings = itemIdToBookings.computeIfAbsent(itemId, k -> new ArrayList<>());
             List<Comment> itemComments = itemIdToComments.computeIfAbsent(itemId, k -> new ArrayList<>());
-            final GetItemDto itemWithBookingDatesDto = getItemWithBookings(item, itemBookings);
+            final GetItemDto itemWithBookingDatesDto = itemMapper.toGetItemDto(item,
+                    bookingMapper.toShortDto(itemIdToLastBooking.get(itemId)),
+                    bookingMapper.toShortDto(itemIdToNextBooking.get(itemId)));
             itemWithBookingDatesDto.getComments().addAll(commentMapper.toDtoList(itemComments));
             result.add(itemWithBookingDatesDto);
         }
         return result;
     }
 
-    private GetItemDto getItemWithBookings(final Item item, final List<Booking> itemBookings) {
-        final Optional<Booking> closestBooking = itemBookings.stream()
-                .filter(booking -> booking.getStart().isAfter(LocalDateTime.now())
-                        && booking.getStatus().equals(BookingStatus.APPROVED))
-                .min(Comparator.comparing(Booking::getStart));
-        final Optional<Booking> lastBooking = itemBookings.stream()
-                .filter(booking -> booking.getStart().isBefore(LocalDateTime.now()) &&
-                        booking.getStatus().equals(BookingStatus.APPROVED))
-                .max(Comparator.comparing(Booking::getEnd));
-        return itemMapper.toGetItemDto(item,
-                bookingMapper.toShortDto(lastBooking.orElse(null)),
-                bookingMapper.toShortDto(closestBooking.orElse(null)));
-
-    }
-
     private void checkIfUserCanAddComments(Long userId, Long itemId, List<Booking> bookings) {
+        final LocalDateTime now = requestClock.now();
         boolean isAbleToAddComment = bookings.stream()
-                .anyMatch(booking -> booking.getBooker().getId().equals(userId) && booking.getEnd().isBefore(LocalDateTime.now())
+                .anyMatch(booking -> booking.getBooker().getId().equals(userId) && booking.getEnd().isBefore(now)
                         && booking.getStatus().equals(BookingStatus.APPROVED));
         if (!isAbleToAddComment) {
             throw new ItemUnavailableException("Пользователь с id '" + userId + "' не брал в аренду вещь с id '" +
@@ -183,8 +235,14 @@ public class ItemServiceImpl implements ItemService {
         }
     }
 
+    private void checkPeriod(final LocalDateTime from, final LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new InvalidPeriodException("Конец периода должен быть позже его начала.");
+        }
+    }
+
     private User getUser(final long userId) {
-        return userStorage.findById(userId)
+        return userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id '" + userId + "' не найден."));
     }
 
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.shared.exception.NotFoundException;
+
+/**
+ * Caches the booking-free view of an item with its comments, which is what every non-owner sees.
+ * Entries are evicted by ItemServiceImpl when the item is updated or commented.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemViewCache {
+
+    public static final String ITEMS_CACHE = "items";
+
+    private final ItemStorage itemStorage;
+    private final CommentStorage commentStorage;
+    private final ItemMapper itemMapper;
+    private final CommentMapper commentMapper;
+
+    @Cacheable(cacheNames = ITEMS_CACHE, key = "#itemId")
+    public ItemView findView(final Long itemId) {
+        final Item item = itemStorage.findById(itemId)
+                .orElseThrow(() -> new NotFoundException("Вещь с id '" + itemId + "' не найдена."));
+        final GetItemDto itemDto = itemMapper.toWithBookingsDto(item);
+        itemDto.getComments().addAll(commentMapper.toDtoList(commentStorage.findAllByItemId(itemId)));
+        return ItemView.of(item.getOwner().getId(), itemDto);
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDateTime;
+
+/**
+ * Uses the PostgreSQL full-text and trigram indexes when the application runs on PostgreSQL and
+ * falls back to the portable LIKE query on other databases (H2 in tests).
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "database", matchIfMissing = true)
+@Slf4j
+public class DatabaseItemSearch implements ItemSearch {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private final ItemStorage itemStorage;
+    private final boolean fullTextEnabled;
+
+    @Autowired
+    public DatabaseItemSearch(ItemStorage itemStorage, DataSource dataSource) {
+        this(itemStorage, isPostgreSql(dataSource));
+    }
+
+    DatabaseItemSearch(ItemStorage itemStorage, boolean fullTextEnabled) {
+        this.itemStorage = itemStorage;
+        this.fullTextEnabled = fullTextEnabled;
+    }
+
+    @Override
+    public Slice<Item> search(final String text, final Pageable pageable) {
+        final String searchText = text.toLowerCase();
+        final String pattern = "%" + searchText + "%";
+        if (fullTextEnabled) {
+            return itemStorage.searchFullText(searchText, pattern, pageable);
+        }
+        return itemStorage.searchInTitleAndDescription(pattern, pageable);
+    }
+
+    @Override
+    public Slice<Item> search(final String text, final LocalDateTime start, final LocalDateTime end,
+                              final Pageable pageable) {
+        final String searchText = text.toLowerCase();
+        final String pattern = "%" + searchText + "%";
+        if (fullTextEnabled) {
+            return itemStorage.searchFullTextFreeBetween(searchText, pattern, start, end, pageable);
+        }
+        return itemStorage.searchInTitleAndDescriptionFreeBetween(pattern, start, end, pageable);
+    }
+
+    private static boolean isPostgreSql(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return POSTGRESQL.equals(productName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Не удалось определить тип базы данных, полнотекстовый поиск отключен.", e);
+            return false;
+        }
+    }
+}
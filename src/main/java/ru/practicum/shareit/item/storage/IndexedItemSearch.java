@@ -0,0 +1,242 @@
+package ru.practicum.shareit.item.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.shared.OffsetPageRequest;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the name and description terms of available items. A query matches items whose
+ * name or description contains the whole query text, as the LIKE search does. The index narrows the candidates
+ * to items that contain every query token inside one of their terms (the terms containing a token are found
+ * through {@link TermGramIndex} and their postings merged in one pass), and a query of several tokens is then
+ * checked against the indexed text itself. Results are ordered by item id; matches are confirmed against the
+ * database in bounded chunks and only the requested page is loaded.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "index")
+@RequiredArgsConstructor
+@Slf4j
+public class IndexedItemSearch implements ItemSearch {
+
+    private static final int LOAD_BATCH_SIZE = 500;
+
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ItemStorage itemStorage;
+
+    private final Map<String, LongPostingList> postings = new HashMap<>();
+
+    private final TermGramIndex termGrams = new TermGramIndex();
+
+    private final Map<Long, IndexedText> itemTexts = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void load() {
+        final OffsetPageRequest batch = OffsetPageRequest.of(0L, LOAD_BATCH_SIZE);
+        long lastId = 0;
+        List<Item> items;
+        do {
+            items = itemStorage.findAllByAvailableTrueAndIdGreaterThanOrderById(lastId, batch);
+            for (Item item : items) {
+                apply(item.getId(), true, IndexedText.of(item));
+                lastId = item.getId();
+            }
+        } while (items.size() == LOAD_BATCH_SIZE);
+        log.info("Поисковый индекс вещей построен: вещей - {}, термов - {}.", itemTexts.size(), postings.size());
+    }
+
+    @Override
+    public void index(final Item item) {
+        final long itemId = item.getId();
+        final boolean available = Boolean.TRUE.equals(item.getAvailable());
+        final IndexedText text = IndexedText.of(item);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(itemId, available, text);
+                }
+            });
+        } else {
+            apply(itemId, available, text);
+        }
+    }
+
+    @Override
+    public Slice<Item> search(final String text, final Pageable pageable) {
+        return page(match(text), pageable, itemStorage::findAvailableIdsByIdIn);
+    }
+
+    /**
+     * Text matching stays in memory; the booking check runs over each chunk of matched ids, since booked items
+     * can only be skipped before the page is cut.
+     */
+    @Override
+    public Slice<Item> search(final String text, final LocalDateTime start, final LocalDateTime end,
+                              final Pageable pageable) {
+        return page(match(text), pageable, ids -> itemStorage.findAvailableIdsByIdInFreeBetween(ids, start, end));
+    }
+
+    private long[] match(final String text) {
+        final String query = text.toLowerCase();
+        final String[] tokens = tokenize(query);
+        if (tokens.length == 0) {
+            return new long[0];
+        }
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            for (String token : tokens) {
+                final List<LongPostingList> tokenPostings = new ArrayList<>();
+                for (String term : termGrams.termsContaining(token)) {
+                    tokenPostings.add(postings.get(term));
+                }
+                final long[] tokenMatches = LongPostingList.union(tokenPostings);
+                result = result == null ? tokenMatches : LongPostingList.intersect(result, tokenMatches);
+                if (result.length == 0) {
+                    break;
+                }
+            }
+            if (tokens.length == 1 && tokens[0].equals(query)) {
+                return result;
+            }
+            return Arrays.stream(result)
+                    .filter(itemId -> itemTexts.get(itemId).contains(query))
+                    .toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Walks the sorted matches in chunks of {@value #ID_CHUNK_SIZE} ids, keeps the ids the database still
+     * confirms and cuts the page from those, so items changed since they were indexed never leave a page short.
+     */
+    private Slice<Item> page(final long[] matches, final Pageable pageable,
+                             final Function<List<Long>, List<Long>> confirmedIds) {
+        final int limit = pageable.getPageSize() + 1;
+        final List<Long> pageIds = new ArrayList<>(limit);
+        long toSkip = pageable.getOffset();
+        for (int from = 0; from < matches.length && pageIds.size() < limit; from += ID_CHUNK_SIZE) {
+            final int to = Math.min(from + ID_CHUNK_SIZE, matches.length);
+            final List<Long> chunk = Arrays.stream(matches, from, to).boxed().collect(Collectors.toList());
+            for (Long id : confirmedIds.apply(chunk)) {
+                if (pageIds.size() == limit) {
+                    break;
+                }
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    pageIds.add(id);
+                }
+            }
+        }
+        final boolean hasNext = pageIds.size() == limit;
+        if (hasNext) {
+            pageIds.remove(limit - 1);
+        }
+        return new SliceImpl<>(hydrate(pageIds), pageable, hasNext);
+    }
+
+    private List<Item> hydrate(final List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Map<Long, Item> itemsById = itemStorage.findAllById(ids).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        final List<Item> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            final Item item = itemsById.get(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private void apply(final long itemId, final boolean available, final IndexedText text) {
+        lock.writeLock().lock();
+        try {
+            final IndexedText previousText = itemTexts.remove(itemId);
+            if (previousText != null) {
+                for (String term : previousText.terms) {
+                    final LongPostingList posting = postings.get(term);
+                    posting.remove(itemId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                        termGrams.remove(term);
+                    }
+                }
+            }
+            if (available) {
+                for (String term : text.terms) {
+                    postings.computeIfAbsent(term, t -> {
+                        termGrams.add(t);
+                        return new LongPostingList();
+                    }).add(itemId);
+                }
+                itemTexts.put(itemId, text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static String[] tokenize(final String text) {
+        return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase()))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Lower-cased name and description of an indexed item together with their terms.
+     */
+    private static final class IndexedText {
+
+        private final String name;
+        private final String description;
+        private final String[] terms;
+
+        private IndexedText(final String name, final String description) {
+            this.name = name;
+            this.description = description;
+            this.terms = tokenize(name + " " + description);
+        }
+
+        static IndexedText of(final Item item) {
+            return new IndexedText(String.valueOf(item.getName()).toLowerCase(),
+                    String.valueOf(item.getDescription()).toLowerCase());
+        }
+
+        boolean contains(final String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.storage;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+
+public interface ItemSearch {
+    Slice<Item> search(String text, Pageable pageable);
+
+    /**
+     * Like {@link #search(String, Pageable)}, but leaves out items with an APPROVED booking overlapping
+     * {@code [start, end)}. The booking check is part of the search query, so the page stays full.
+     */
+    Slice<Item> search(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    default void index(Item item) {
+    }
+}
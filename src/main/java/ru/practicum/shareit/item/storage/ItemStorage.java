@@ -1,17 +1,60 @@
 package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemStorage extends JpaRepository<Item, Long> {
 
-    List<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
+    Slice<Item> findAllByOwnerIdOrderById(Long userId, Pageable pageable);
 
-    @Query(value = "SELECT i FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true",
-            countQuery = "SELECT COUNT(i) FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true")
-    List<Item> searchInTitleAndDescription(String text, Pageable pageable);
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 WHERE i.id = ?1")
+    int incrementVersion(Long itemId);
+
+    List<Item> findAllByAvailableTrueAndIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    @Query("SELECT i FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE ?1 THEN 0 ELSE 1 END, i.id")
+    Slice<Item> searchInTitleAndDescription(String text, Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items i WHERE i.available = TRUE AND (i.search_vector @@ plainto_tsquery('simple', ?1) " +
+            "OR LOWER(i.item_name) LIKE ?2 OR LOWER(i.description) LIKE ?2) " +
+            "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', ?1)) DESC, " +
+            "GREATEST(similarity(LOWER(i.item_name), ?1), similarity(LOWER(i.description), ?1)) DESC, i.id",
+            nativeQuery = true)
+    Slice<Item> searchFullText(String text, String pattern, Pageable pageable);
+
+    @Query("SELECT i FROM Item i WHERE (LOWER(i.name) LIKE ?1 OR LOWER(i.description) LIKE ?1) AND i.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED AND b.start < ?3 AND b.end > ?2) " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE ?1 THEN 0 ELSE 1 END, i.id")
+    Slice<Item> searchInTitleAndDescriptionFreeBetween(String text, LocalDateTime start, LocalDateTime end,
+                                                       Pageable pageable);
+
+    @Query(value = "SELECT i.* FROM items i WHERE i.available = TRUE AND (i.search_vector @@ plainto_tsquery('simple', ?1) " +
+            "OR LOWER(i.item_name) LIKE ?2 OR LOWER(i.description) LIKE ?2) " +
+            "AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.item_id = i.id AND b.status = 'APPROVED' " +
+            "AND b.start_date < ?4 AND b.end_date > ?3) " +
+            "ORDER BY ts_rank(i.search_vector, plainto_tsquery('simple', ?1)) DESC, " +
+            "GREATEST(similarity(LOWER(i.item_name), ?1), similarity(LOWER(i.description), ?1)) DESC, i.id",
+            nativeQuery = true)
+    Slice<Item> searchFullTextFreeBetween(String text, String pattern, LocalDateTime start, LocalDateTime end,
+                                          Pageable pageable);
+
+    @Query("SELECT i.id FROM Item i WHERE i.id IN ?1 AND i.available = true ORDER BY i.id")
+    List<Long> findAvailableIdsByIdIn(Collection<Long> itemIds);
+
+    @Query("SELECT i.id FROM Item i WHERE i.id IN ?1 AND i.available = true " +
+            "AND NOT EXISTS (SELECT b.id FROM Booking b WHERE b.item = i " +
+            "AND b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED AND b.start < ?3 AND b.end > ?2) " +
+            "ORDER BY i.id")
+    List<Long> findAvailableIdsByIdInFreeBetween(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
 }
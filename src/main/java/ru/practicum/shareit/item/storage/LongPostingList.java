@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.storage;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.PriorityQueue;
+
+/**
+ * Sorted set of item ids backed by a primitive long array.
+ */
+final class LongPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    boolean add(final long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(final long id) {
+        final int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Merges the lists in one pass with a min-heap of cursors, one per list.
+     */
+    static long[] union(final Collection<LongPostingList> lists) {
+        final PriorityQueue<Cursor> heap = new PriorityQueue<>(Math.max(1, lists.size()));
+        int total = 0;
+        for (LongPostingList list : lists) {
+            if (list.size > 0) {
+                heap.add(new Cursor(list));
+                total += list.size;
+            }
+        }
+        final long[] result = new long[total];
+        int k = 0;
+        while (!heap.isEmpty()) {
+            final Cursor cursor = heap.poll();
+            final long id = cursor.current();
+            if (k == 0 || result[k - 1] != id) {
+                result[k++] = id;
+            }
+            if (cursor.advance()) {
+                heap.add(cursor);
+            }
+        }
+        return k == total ? result : Arrays.copyOf(result, k);
+    }
+
+    static long[] intersect(final long[] left, final long[] right) {
+        final long[] result = new long[Math.min(left.length, right.length)];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] < right[j]) {
+                i++;
+            } else if (left[i] > right[j]) {
+                j++;
+            } else {
+                result[k++] = left[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, k);
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final LongPostingList list;
+        private int position;
+
+        private Cursor(final LongPostingList list) {
+            this.list = list;
+        }
+
+        long current() {
+            return list.ids[position];
+        }
+
+        boolean advance() {
+            return ++position < list.size;
+        }
+
+        @Override
+        public int compareTo(final Cursor other) {
+            return Long.compare(current(), other.current());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.storage;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps every substring of up to {@value #GRAM_LENGTH} characters of the indexed terms to the terms that contain
+ * it. A token of up to three characters is answered by a single lookup; a longer token takes the terms of its
+ * rarest trigram as candidates and keeps those that contain the whole token. Not thread-safe.
+ */
+final class TermGramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+
+    void add(final String term) {
+        for (String gram : grams(term)) {
+            termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term);
+        }
+    }
+
+    void remove(final String term) {
+        for (String gram : grams(term)) {
+            final Set<String> terms = termsByGram.get(gram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                termsByGram.remove(gram);
+            }
+        }
+    }
+
+    Set<String> termsContaining(final String token) {
+        if (token.length() <= GRAM_LENGTH) {
+            return termsByGram.getOrDefault(token, Collections.emptySet());
+        }
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= token.length(); i++) {
+            final Set<String> terms = termsByGram.get(token.substring(i, i + GRAM_LENGTH));
+            if (terms == null) {
+                return Collections.emptySet();
+            }
+            if (candidates == null || terms.size() < candidates.size()) {
+                candidates = terms;
+            }
+        }
+        final Set<String> result = new HashSet<>();
+        for (String term : candidates) {
+            if (term.contains(token)) {
+                result.add(term);
+            }
+        }
+        return result;
+    }
+
+    private static Set<String> grams(final String term) {
+        final Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= GRAM_LENGTH; length++) {
+            for (int i = 0; i + length <= term.length(); i++) {
+                grams.add(term.substring(i, i + length));
+            }
+        }
+        return grams;
+    }
+}
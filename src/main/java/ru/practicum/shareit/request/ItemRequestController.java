@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.shared.SliceResponse;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -44,10 +46,10 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestDto> getAvailableItemRequests(@RequestHeader("X-Sharer-User-id") Long userId,
-                                                         @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
-                                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
-        return itemRequestService.getAvailableItemRequests(userId, from, size);
+    public ResponseEntity<List<ItemRequestDto>> getAvailableItemRequests(@RequestHeader("X-Sharer-User-id") Long userId,
+                                                                         @RequestParam(defaultValue = "0") @PositiveOrZero Long from,
+                                                                         @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) @Positive Integer size) {
+        return SliceResponse.of(itemRequestService.getAvailableItemRequests(userId, from, size));
     }
 
     @GetMapping("/{requestId}")
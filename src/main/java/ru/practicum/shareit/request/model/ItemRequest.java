@@ -18,6 +18,7 @@ import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -35,7 +36,8 @@ import java.util.Objects;
 public class ItemRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_requests_seq")
+    @SequenceGenerator(name = "item_requests_seq", sequenceName = "item_requests_seq", allocationSize = 50)
     private Long id;
 
     private String description;
@@ -49,7 +51,7 @@ public class ItemRequest {
     @ToString.Exclude
     private User requester;
 
-    private final LocalDateTime created = LocalDateTime.now();
+    private LocalDateTime created;
 
     public void addItem(Item item) {
         items.add(item);
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
@@ -10,7 +11,7 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getAllItemRequestsFromUser(Long userId);
 
-    List<ItemRequestDto> getAvailableItemRequests(Long userId, Long from, Integer size);
+    Slice<ItemRequestDto> getAvailableItemRequests(Long userId, Long from, Integer size);
 
     ItemRequestDto getItemRequestById(Long userId, Long requestId);
 }
@@ -1,7 +1,8 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
@@ -10,9 +11,11 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
+import java.util.Collections;
 import java.util.List;
 
 @Service
@@ -20,14 +23,16 @@ import java.util.List;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestStorage itemRequestStorage;
-    private final UserStorage userStorage;
+    private final UserCache userCache;
     private final ItemRequestMapper itemRequestMapper;
+    private final RequestClock requestClock;
 
     @Override
     public ItemRequestDto addNewItemRequest(final Long userId, final AddItemRequestDto addItemRequestDto) {
         final User requester = findUser(userId);
         final ItemRequest itemRequest = itemRequestMapper.toModel(addItemRequestDto);
         itemRequest.setRequester(requester);
+        itemRequest.setCreated(requestClock.now());
         final ItemRequest savedRequest = itemRequestStorage.save(itemRequest);
         return itemRequestMapper.toDto(savedRequest);
     }
@@ -40,11 +45,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestDto> getAvailableItemRequests(final Long userId, final Long from, final Integer size) {
+    public Slice<ItemRequestDto> getAvailableItemRequests(final Long userId, final Long from, final Integer size) {
         findUser(userId);
         final OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
-        final Page<ItemRequest> requests = itemRequestStorage.findAvailableRequests(userId, pageRequest);
-        return itemRequestMapper.toDtoList(requests.getContent());
+        final Slice<Long> requestIds = itemRequestStorage.findAvailableRequestIds(userId, pageRequest);
+        if (!requestIds.hasContent()) {
+            return new SliceImpl<>(Collections.emptyList(), pageRequest, false);
+        }
+        final List<ItemRequest> requests = itemRequestStorage.findAllWithItemsByIdIn(requestIds.getContent());
+        return new SliceImpl<>(itemRequestMapper.toDtoList(requests), requestIds.getPageable(), requestIds.hasNext());
     }
 
     @Override
@@ -56,7 +65,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private User findUser(final Long userId) {
-        return userStorage.findById(userId)
+        return userCache.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id '" + userId + "' не найден."));
     }
 }
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.shared;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+public final class SliceResponse {
+
+    public static final String HAS_MORE_HEADER = "X-Has-More";
+
+    private SliceResponse() {
+    }
+
+    public static <T> ResponseEntity.BodyBuilder ok(Slice<T> slice) {
+        return ResponseEntity.ok()
+                .header(HAS_MORE_HEADER, String.valueOf(slice.hasNext()));
+    }
+
+    public static <T> ResponseEntity<List<T>> of(Slice<T> slice) {
+        return ok(slice).body(slice.getContent());
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit.diagnostics.enabled", havingValue = "true")
+@EnableConfigurationProperties(DiagnosticsProperties.class)
+public class DiagnosticsConfig {
+
+    @Bean
+    public QueryCountInspector queryCountInspector() {
+        return new QueryCountInspector();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer diagnosticsHibernatePropertiesCustomizer(QueryCountInspector inspector) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(QueryCountInspector inspector) {
+        final FilterRegistrationBean<QueryCountFilter> registration =
+                new FilterRegistrationBean<>(new QueryCountFilter(inspector));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    public QueryStatisticsEndpoint queryStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+                                                           DiagnosticsProperties properties) {
+        return new QueryStatisticsEndpoint(entityManagerFactory, properties);
+    }
+}
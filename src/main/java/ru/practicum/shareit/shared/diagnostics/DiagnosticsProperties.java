@@ -0,0 +1,21 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.diagnostics")
+@Getter
+@Setter
+public class DiagnosticsProperties {
+
+    /**
+     * Collect Hibernate statistics, expose them on the {@code queries} actuator endpoint and add
+     * the number of executed statements to every response.
+     */
+    private boolean enabled = false;
+
+    private Duration slowQueryThreshold = Duration.ofMillis(100);
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Adds the number of SQL statements executed while handling the request as a response header. The body
+ * is buffered so that the header can still be set after the handler has written it.
+ */
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final QueryCountInspector queryCountInspector;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        queryCountInspector.start();
+        try {
+            filterChain.doFilter(request, responseWrapper);
+        } finally {
+            responseWrapper.setHeader(QUERY_COUNT_HEADER, String.valueOf(queryCountInspector.stop()));
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+}
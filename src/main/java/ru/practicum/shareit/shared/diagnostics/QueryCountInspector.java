@@ -0,0 +1,31 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements prepared by Hibernate on the current thread between {@link #start()} and
+ * {@link #stop()}.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private final ThreadLocal<long[]> counter = new ThreadLocal<>();
+
+    public void start() {
+        counter.set(new long[1]);
+    }
+
+    public long stop() {
+        final long[] count = counter.get();
+        counter.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        final long[] count = counter.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
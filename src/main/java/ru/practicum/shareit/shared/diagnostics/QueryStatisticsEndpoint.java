@@ -0,0 +1,73 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import lombok.Value;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Per-query Hibernate statistics ordered by the slowest execution, with queries at or above the configured
+ * threshold flagged as slow.
+ */
+@Endpoint(id = "queries")
+public class QueryStatisticsEndpoint {
+
+    private final Statistics statistics;
+
+    private final long slowQueryThresholdMs;
+
+    public QueryStatisticsEndpoint(EntityManagerFactory entityManagerFactory, DiagnosticsProperties properties) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.slowQueryThresholdMs = properties.getSlowQueryThreshold().toMillis();
+    }
+
+    @ReadOperation
+    public QueryReport queries() {
+        final List<QueryStats> queries = Arrays.stream(statistics.getQueries())
+                .map(query -> toStats(query, statistics.getQueryStatistics(query)))
+                .sorted(Comparator.comparingLong(QueryStats::getMaxTimeMs).reversed())
+                .collect(Collectors.toList());
+        final long slowQueryCount = queries.stream().filter(QueryStats::isSlow).count();
+        return new QueryReport(statistics.getPrepareStatementCount(), statistics.getQueryExecutionCount(),
+                slowQueryThresholdMs, slowQueryCount, queries);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+    }
+
+    private QueryStats toStats(String query, QueryStatistics queryStatistics) {
+        final long maxTimeMs = queryStatistics.getExecutionMaxTime();
+        return new QueryStats(query, queryStatistics.getExecutionCount(), queryStatistics.getExecutionRowCount(),
+                maxTimeMs, queryStatistics.getExecutionAvgTime(), maxTimeMs >= slowQueryThresholdMs);
+    }
+
+    @Value
+    public static class QueryReport {
+        long prepareStatementCount;
+        long queryExecutionCount;
+        long slowQueryThresholdMs;
+        long slowQueryCount;
+        List<QueryStats> queries;
+    }
+
+    @Value
+    public static class QueryStats {
+        String query;
+        long executionCount;
+        long rowCount;
+        long maxTimeMs;
+        long avgTimeMs;
+        boolean slow;
+    }
+}
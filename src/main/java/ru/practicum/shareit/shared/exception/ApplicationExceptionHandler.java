@@ -1,6 +1,7 @@
 package ru.practicum.shareit.shared.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -37,6 +38,24 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursorException(InvalidCursorException e) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.getErrors().put("errorMessage", e.getLocalizedMessage());
+        log.error(e.getLocalizedMessage());
+        return errorResponse;
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidPeriodException(InvalidPeriodException e) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.getErrors().put("errorMessage", e.getLocalizedMessage());
+        log.error(e.getLocalizedMessage());
+        return errorResponse;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorResponse handleNotAuthorizedException(NotAuthorizedException e) {
@@ -46,6 +65,16 @@ public class ApplicationExceptionHandler {
         return errorResponse;
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleConcurrencyFailureException(ConcurrencyFailureException e) {
+        ErrorResponse errorResponse = new ErrorResponse();
+        errorResponse.getErrors().put("errorMessage",
+                "Данные были изменены параллельным запросом, повторите попытку.");
+        log.error(e.getLocalizedMessage());
+        return errorResponse;
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorMessage handleConversionFailedException(MethodArgumentTypeMismatchException e) {
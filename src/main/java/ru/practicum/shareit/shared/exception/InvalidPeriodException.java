@@ -0,0 +1,7 @@
+package ru.practicum.shareit.shared.exception;
+
+public class InvalidPeriodException extends RuntimeException {
+    public InvalidPeriodException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.shared.logging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs one key=value line per sampled call. Failed calls are always logged; arguments and results are
+ * summarized by {@link PayloadSummarizer} and only when {@code shareit.logging.payload} is enabled.
+ */
+@Aspect
+@Component
+@EnableConfigurationProperties(LoggingProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class LoggingAspect {
+
+    private static final String BASE_PACKAGE = "ru.practicum.shareit.";
+
+    private final LoggingProperties properties;
+
+    private final Map<String, Double> sampleRateByType = new ConcurrentHashMap<>();
+
+    @Around("execution(* ru.practicum.shareit.*.*.*(..))")
+    public Object logAroundMethods(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!properties.isEnabled() || !log.isInfoEnabled()) {
+            return joinPoint.proceed();
+        }
+        final long startNanos = System.nanoTime();
+        try {
+            final Object result = joinPoint.proceed();
+            if (isSampled(joinPoint.getSignature().getDeclaringTypeName())) {
+                logSuccess(joinPoint, result, startNanos);
+            }
+            return result;
+        } catch (Throwable e) {
+            logFailure(joinPoint, e, startNanos);
+            throw e;
+        }
+    }
+
+    double getSampleRate(final String declaringTypeName) {
+        return sampleRateByType.computeIfAbsent(declaringTypeName, this::resolveSampleRate);
+    }
+
+    private boolean isSampled(final String declaringTypeName) {
+        final double sampleRate = getSampleRate(declaringTypeName);
+        return sampleRate >= 1.0 || sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private double resolveSampleRate(final String declaringTypeName) {
+        final String name = declaringTypeName.startsWith(BASE_PACKAGE)
+                ? declaringTypeName.substring(BASE_PACKAGE.length()) : declaringTypeName;
+        String bestMatch = null;
+        for (String prefix : properties.getSampleRates().keySet()) {
+            if ((name.equals(prefix) || name.startsWith(prefix + "."))
+                    && (bestMatch == null || prefix.length() > bestMatch.length())) {
+                bestMatch = prefix;
+            }
+        }
+        return bestMatch == null ? properties.getDefaultSampleRate() : properties.getSampleRates().get(bestMatch);
+    }
+
+    private void logSuccess(final ProceedingJoinPoint joinPoint, final Object result, final long startNanos) {
+        final long durationMs = elapsedMillis(startNanos);
+        if (properties.isPayload()) {
+            log.info("method={} outcome=ok durationMs={} args={} result={}", methodName(joinPoint), durationMs,
+                    PayloadSummarizer.summarizeAll(joinPoint.getArgs()), PayloadSummarizer.summarize(result));
+        } else {
+            log.info("method={} outcome=ok durationMs={}", methodName(joinPoint), durationMs);
+        }
+    }
+
+    private void logFailure(final ProceedingJoinPoint joinPoint, final Throwable e, final long startNanos) {
+        final long durationMs = elapsedMillis(startNanos);
+        if (properties.isPayload()) {
+            log.warn("method={} outcome=error durationMs={} exception={} args={}", methodName(joinPoint), durationMs,
+                    e.getClass().getSimpleName(), PayloadSummarizer.summarizeAll(joinPoint.getArgs()));
+        } else {
+            log.warn("method={} outcome=error durationMs={} exception={}", methodName(joinPoint), durationMs,
+                    e.getClass().getSimpleName());
+        }
+    }
+
+    private static String methodName(final ProceedingJoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    private static long elapsedMillis(final long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
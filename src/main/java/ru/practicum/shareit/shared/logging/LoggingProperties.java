@@ -0,0 +1,29 @@
+package ru.practicum.shareit.shared.logging;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "shareit.logging")
+@Getter
+@Setter
+public class LoggingProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Include summarized arguments and results in log lines.
+     */
+    private boolean payload = false;
+
+    private double defaultSampleRate = 1.0;
+
+    /**
+     * Sample rates by package or type prefix relative to {@code ru.practicum.shareit}, e.g. {@code booking}
+     * or {@code item.ItemController}. The longest matching prefix wins.
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.shared.logging;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Array;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Describes method arguments and results by type and size instead of their full {@code toString()}.
+ */
+final class PayloadSummarizer {
+
+    private PayloadSummarizer() {
+    }
+
+    static String summarizeAll(final Object[] values) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (Object value : values) {
+            joiner.add(summarize(value));
+        }
+        return joiner.toString();
+    }
+
+    static String summarize(final Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum
+                || value instanceof Character || value instanceof TemporalAccessor) {
+            return String.valueOf(value);
+        }
+        if (value instanceof CharSequence) {
+            return "String(length=" + ((CharSequence) value).length() + ")";
+        }
+        if (value instanceof Slice) {
+            final Slice<?> slice = (Slice<?>) value;
+            return "Slice(size=" + slice.getNumberOfElements() + ", hasNext=" + slice.hasNext() + ")";
+        }
+        if (value instanceof Collection) {
+            return value.getClass().getSimpleName() + "(size=" + ((Collection<?>) value).size() + ")";
+        }
+        if (value instanceof Map) {
+            return value.getClass().getSimpleName() + "(size=" + ((Map<?, ?>) value).size() + ")";
+        }
+        if (value instanceof ResponseEntity) {
+            final ResponseEntity<?> response = (ResponseEntity<?>) value;
+            return "ResponseEntity(status=" + response.getStatusCodeValue() + ", body="
+                    + summarize(response.getBody()) + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.shared.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ValueConstants;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.dto.GetBookingState;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Adds a {@code bookingState} tag to {@code http.server.requests} so the timings of the booking list
+ * endpoints can be told apart by {@link GetBookingState}.
+ */
+@Component
+public class BookingStateTagsContributor implements WebMvcTagsContributor {
+
+    static final String TAG_NAME = "bookingState";
+
+    static final String NONE = "none";
+
+    static final String INVALID = "invalid";
+
+    private static final Set<String> STATE_NAMES = Arrays.stream(GetBookingState.values())
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+
+    @Override
+    public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                 Throwable exception) {
+        return Tags.of(TAG_NAME, resolveState(request, handler));
+    }
+
+    @Override
+    public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+        return Tags.of(TAG_NAME, resolveState(request, handler));
+    }
+
+    private String resolveState(HttpServletRequest request, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return NONE;
+        }
+        for (MethodParameter parameter : ((HandlerMethod) handler).getMethodParameters()) {
+            if (parameter.getParameterType() == GetBookingState.class) {
+                final RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+                if (requestParam == null) {
+                    return NONE;
+                }
+                final String name = requestParam.name().isEmpty() ? parameter.getParameter().getName() : requestParam.name();
+                final String value = request.getParameter(name);
+                if (value == null) {
+                    return ValueConstants.DEFAULT_NONE.equals(requestParam.defaultValue())
+                            ? NONE : requestParam.defaultValue();
+                }
+                return STATE_NAMES.contains(value.trim()) ? value.trim() : INVALID;
+            }
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.shared.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Retries {@link RetryOnConflict} methods with a randomized exponential pause. Ordered before the
+ * transaction interceptor, so every attempt runs in a fresh transaction; inside an existing transaction the
+ * call is not retried because that transaction is already marked for rollback.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+@EnableConfigurationProperties(RetryProperties.class)
+@RequiredArgsConstructor
+@Slf4j
+public class ConflictRetryAspect {
+
+    static final String RETRIES_METRIC = "shareit.conflict.retries";
+
+    private final RetryProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@annotation(ru.practicum.shareit.shared.retry.RetryOnConflict)")
+    public Object retryOnConflict(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        final String method = joinPoint.getSignature().toShortString();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    log.warn("method={} outcome=conflict attempts={}", method, attempt);
+                    throw e;
+                }
+                meterRegistry.counter(RETRIES_METRIC, "method", method).increment();
+                log.debug("method={} outcome=retry attempt={} cause={}", method, attempt, e.getClass().getSimpleName());
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(final int attempt) throws InterruptedException {
+        final long boundNanos = properties.getBackoff().toNanos() << (attempt - 1);
+        if (boundNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(ThreadLocalRandom.current().nextLong(boundNanos));
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.shared.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated transactional method again when it fails with a concurrency conflict, such as a stale
+ * version or a lock that could not be acquired. Only calls that start their own transaction are retried.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+}
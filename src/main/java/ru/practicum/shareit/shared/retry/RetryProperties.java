@@ -0,0 +1,23 @@
+package ru.practicum.shareit.shared.retry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "shareit.retry")
+@Getter
+@Setter
+public class RetryProperties {
+
+    /**
+     * Attempts including the first call.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Upper bound of the random pause before the first retry; doubled for every further retry.
+     */
+    private Duration backoff = Duration.ofMillis(20);
+}
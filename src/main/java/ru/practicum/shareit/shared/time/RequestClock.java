@@ -0,0 +1,36 @@
+package ru.practicum.shareit.shared.time;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+/**
+ * Reads the {@link Clock} once per HTTP request, so every state query and check made while handling the
+ * request compares against the same instant. Outside a request every call reads the clock.
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestClock {
+
+    private static final String NOW_ATTRIBUTE = RequestClock.class.getName() + ".NOW";
+
+    private final Clock clock;
+
+    public LocalDateTime now() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return LocalDateTime.now(clock);
+        }
+        LocalDateTime now = (LocalDateTime) requestAttributes.getAttribute(NOW_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (now == null) {
+            now = LocalDateTime.now(clock);
+            requestAttributes.setAttribute(NOW_ATTRIBUTE, now, RequestAttributes.SCOPE_REQUEST);
+        }
+        return now;
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.shared.validation;
+
+import java.time.LocalDateTime;
+
+/**
+ * A start/end interval checked by {@link ValidateDateRange}.
+ */
+public interface DateRange {
+
+    LocalDateTime getStart();
+
+    LocalDateTime getEnd();
+}
@@ -7,15 +7,14 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Checks that the end of a {@link DateRange} is after its start and that the start is in the future.
+ */
 @Target({ElementType.TYPE, ElementType.ANNOTATION_TYPE})
 @Retention(RetentionPolicy.RUNTIME)
 @Constraint(validatedBy = ValidateDateRangeValidator.class)
 public @interface ValidateDateRange {
 
-    String start();
-
-    String end();
-
     String message() default "Неверно заданы даты.";
 
     Class<?>[] groups() default {};
@@ -1,41 +1,33 @@
 package ru.practicum.shareit.shared.validation;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.shared.time.RequestClock;
+
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
-import java.lang.reflect.Field;
+import java.time.Clock;
 import java.time.LocalDateTime;
 
-public class ValidateDateRangeValidator implements ConstraintValidator<ValidateDateRange, Object> {
+public class ValidateDateRangeValidator implements ConstraintValidator<ValidateDateRange, DateRange> {
 
-    String start;
-    String end;
-    String message;
+    private final RequestClock requestClock;
 
-    @Override
-    public void initialize(ValidateDateRange constraintAnnotation) {
-        ConstraintValidator.super.initialize(constraintAnnotation);
-        start = constraintAnnotation.start();
-        end = constraintAnnotation.end();
-        message = constraintAnnotation.message();
+    public ValidateDateRangeValidator() {
+        this(new RequestClock(Clock.systemDefaultZone()));
     }
 
-    @Override
-    public boolean isValid(Object object, ConstraintValidatorContext constraintValidatorContext) {
-        try {
-            Field startField = object.getClass().getDeclaredField(start);
-            startField.setAccessible(true);
-            Field endField = object.getClass().getDeclaredField(end);
-            endField.setAccessible(true);
+    @Autowired(required = false)
+    public ValidateDateRangeValidator(RequestClock requestClock) {
+        this.requestClock = requestClock;
+    }
 
-            LocalDateTime startDate = (LocalDateTime) startField.get(object);
-            LocalDateTime endDate = (LocalDateTime) endField.get(object);
-            if (startDate == null || endDate == null) {
-                return false;
-            }
-            return endDate.isAfter(startDate) && !endDate.isEqual(startDate) &&
-                    !endDate.isEqual(LocalDateTime.now()) && startDate.isAfter(LocalDateTime.now());
-        } catch (NoSuchFieldException | IllegalAccessException e) {
+    @Override
+    public boolean isValid(DateRange dateRange, ConstraintValidatorContext constraintValidatorContext) {
+        final LocalDateTime startDate = dateRange.getStart();
+        final LocalDateTime endDate = dateRange.getEnd();
+        if (startDate == null || endDate == null) {
             return false;
         }
+        return endDate.isAfter(startDate) && startDate.isAfter(requestClock.now());
     }
 }
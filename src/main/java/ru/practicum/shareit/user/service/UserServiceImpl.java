@@ -1,12 +1,14 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import ru.practicum.shareit.shared.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserCache;
 import ru.practicum.shareit.user.storage.UserStorage;
 
 import javax.transaction.Transactional;
@@ -29,6 +31,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = UserCache.USERS_CACHE, key = "#userId")
     public UserDto updateUser(final long userId, final UserUpdateDto userUpdateDto) {
         User storedUser = userStorage.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id '" + userId + "' не найден."));
@@ -51,6 +54,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @CacheEvict(cacheNames = UserCache.USERS_CACHE, key = "#userId")
     public void deleteUserById(final long userId) {
         userStorage.deleteById(userId);
     }
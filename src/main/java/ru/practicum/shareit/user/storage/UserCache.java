@@ -0,0 +1,26 @@
+package ru.practicum.shareit.user.storage;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Optional;
+
+/**
+ * Read-through cache of users for the services that only need to check the requesting user and reference it.
+ * Cached users are detached and must not be modified; entries are evicted by UserServiceImpl on update and delete.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCache {
+
+    public static final String USERS_CACHE = "users";
+
+    private final UserStorage userStorage;
+
+    @Cacheable(cacheNames = USERS_CACHE, unless = "#result == null")
+    public Optional<User> findById(final Long userId) {
+        return userStorage.findById(userId);
+    }
+}
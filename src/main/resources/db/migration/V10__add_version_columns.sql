@@ -0,0 +1,5 @@
+-- Optimistic locking: approvals bump the version of the booked item, so concurrent approvals of one item
+-- run one after another while approvals of different items do not wait for each other
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
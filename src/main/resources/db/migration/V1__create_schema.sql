@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, item_requests;
-
 CREATE TABLE IF NOT EXISTS users (
                                      id BIGINT GENERATED BY DEFAULT AS IDENTITY(START WITH 1) NOT NULL PRIMARY KEY,
                                      username VARCHAR(255) NOT NULL,
@@ -44,4 +42,4 @@ CREATE TABLE IF NOT EXISTS comments (
                                         created TIMESTAMP NOT NULL,
                                         FOREIGN KEY (item_id) REFERENCES items(id),
                                         FOREIGN KEY (author_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
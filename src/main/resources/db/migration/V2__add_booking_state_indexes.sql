@@ -0,0 +1,21 @@
+-- Booker listings ALL / CURRENT / FUTURE and keyset pages: ordered by start_date DESC, id DESC
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (user_id, start_date DESC, id DESC);
+
+-- Booker listings WAITING / REJECTED
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (user_id, status, start_date DESC, id DESC);
+
+-- Booker listings PAST
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_end ON bookings (user_id, end_date);
+
+-- Owner listings resolve items by owner_id and then join bookings by item_id
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requester_created ON item_requests (requester_id, created DESC);
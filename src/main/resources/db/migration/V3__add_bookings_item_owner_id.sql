@@ -0,0 +1,19 @@
+-- Owner of the booked item copied onto bookings so owner listings filter and sort without joining items
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS item_owner_id BIGINT;
+
+UPDATE bookings SET item_owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id)
+WHERE item_owner_id IS NULL;
+
+ALTER TABLE bookings ALTER COLUMN item_owner_id SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (item_owner_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings (item_owner_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_end ON bookings (item_owner_id, end_date);
+
+ALTER TABLE bookings ADD CONSTRAINT fk_bookings_item_owner FOREIGN KEY (item_owner_id) REFERENCES users (id);
+
+-- Owner PAST listings are served by idx_bookings_owner_end now
+DROP INDEX IF EXISTS idx_bookings_item_end;
+
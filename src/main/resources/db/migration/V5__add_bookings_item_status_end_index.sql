@@ -0,0 +1,2 @@
+-- Last approved booking of an item: latest end among bookings that have already started
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_end ON bookings (item_id, status, end_date DESC, id DESC);
@@ -0,0 +1,2 @@
+-- Booking ids come from a pooled sequence so Hibernate can batch inserts; one call reserves 50 ids
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
@@ -2,6 +2,7 @@ package ru.practicum.shareit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.shared.validation.DateRange;
 import ru.practicum.shareit.shared.validation.ValidateDateRange;
 
 import javax.validation.ConstraintViolation;
@@ -51,8 +52,8 @@ public class ValidateDateRangeTest {
         assertEquals(1, violations.size());
     }
 
-    @ValidateDateRange(start = "startDate", end = "endDate", message = "Invalid date range")
-    private static class TestObject {
+    @ValidateDateRange(message = "Invalid date range")
+    private static class TestObject implements DateRange {
         private LocalDateTime startDate;
         private LocalDateTime endDate;
 
@@ -61,5 +62,14 @@ public class ValidateDateRangeTest {
             this.endDate = endDate;
         }
 
+        @Override
+        public LocalDateTime getStart() {
+            return startDate;
+        }
+
+        @Override
+        public LocalDateTime getEnd() {
+            return endDate;
+        }
     }
 }
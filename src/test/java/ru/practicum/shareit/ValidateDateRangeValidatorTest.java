@@ -1,24 +1,37 @@
 package ru.practicum.shareit;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import ru.practicum.shareit.shared.time.RequestClock;
+import ru.practicum.shareit.shared.validation.DateRange;
 import ru.practicum.shareit.shared.validation.ValidateDateRange;
 import ru.practicum.shareit.shared.validation.ValidateDateRangeValidator;
 
 import javax.validation.ConstraintValidatorContext;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ValidateDateRangeValidatorTest {
 
-    @InjectMocks
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 12, 0);
+
     private ValidateDateRangeValidator validator;
 
     @Mock
@@ -28,78 +41,118 @@ public class ValidateDateRangeValidatorTest {
 
     @BeforeEach
     public void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneId.of("UTC"));
+        validator = new ValidateDateRangeValidator(new RequestClock(clock));
         validator.initialize(TestObject.class.getAnnotation(ValidateDateRange.class));
         testObject = new TestObject();
     }
 
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
     @Test
     public void testIsValidWhenDateRangeIsValidThenReturnTrue() {
-        testObject.setStartDate(LocalDateTime.now().plusDays(1));
-        testObject.setEndDate(LocalDateTime.now().plusDays(2));
+        testObject.setStart(NOW.plusDays(1));
+        testObject.setEnd(NOW.plusDays(2));
         assertTrue(validator.isValid(testObject, context));
     }
 
     @Test
     public void testIsValidWhenStartDateIsAfterEndDateThenReturnFalse() {
-        testObject.setStartDate(LocalDateTime.now().plusDays(2));
-        testObject.setEndDate(LocalDateTime.now().plusDays(1));
+        testObject.setStart(NOW.plusDays(2));
+        testObject.setEnd(NOW.plusDays(1));
         assertFalse(validator.isValid(testObject, context));
     }
 
     @Test
     public void testIsValidWhenEndDateIsEqualToStartDateThenReturnFalse() {
-        LocalDateTime sameDate = LocalDateTime.now().plusDays(1);
-        testObject.setStartDate(sameDate);
-        testObject.setEndDate(sameDate);
+        LocalDateTime sameDate = NOW.plusDays(1);
+        testObject.setStart(sameDate);
+        testObject.setEnd(sameDate);
         assertFalse(validator.isValid(testObject, context));
     }
 
     @Test
     public void testIsValidWhenEndDateIsEqualToCurrentDateThenReturnFalse() {
-        testObject.setStartDate(LocalDateTime.now().minusDays(1));
-        testObject.setEndDate(LocalDateTime.now());
+        testObject.setStart(NOW.minusDays(1));
+        testObject.setEnd(NOW);
         assertFalse(validator.isValid(testObject, context));
     }
 
     @Test
     public void testIsValidWhenStartDateIsBeforeCurrentDateThenReturnFalse() {
-        testObject.setStartDate(LocalDateTime.now().minusDays(1));
-        testObject.setEndDate(LocalDateTime.now().plusDays(1));
+        testObject.setStart(NOW.minusDays(1));
+        testObject.setEnd(NOW.plusDays(1));
         assertFalse(validator.isValid(testObject, context));
     }
 
     @Test
-    public void testIsValidWhenStartOrEndFieldDoesNotExistThenReturnFalse() {
-        assertFalse(validator.isValid(new Object(), context));
+    public void testIsValidWhenStartDateIsEqualToCurrentDateThenReturnFalse() {
+        testObject.setStart(NOW);
+        testObject.setEnd(NOW.plusDays(1));
+        assertFalse(validator.isValid(testObject, context));
     }
 
     @Test
-    public void testIsValidWhenExceptionThrownThenReturnFalse() {
-        testObject.setStartDate(null);
-        testObject.setEndDate(LocalDateTime.now().plusDays(1));
+    public void testIsValidWhenStartDateIsJustAfterCurrentDateThenReturnTrue() {
+        testObject.setStart(NOW.plusNanos(1));
+        testObject.setEnd(NOW.plusDays(1));
+        assertTrue(validator.isValid(testObject, context));
+    }
+
+    @Test
+    public void testIsValidWhenStartDateIsNullThenReturnFalse() {
+        testObject.setStart(null);
+        testObject.setEnd(NOW.plusDays(1));
         assertFalse(validator.isValid(testObject, context));
     }
 
-    // Helper class to simulate the object being validated
-    @ValidateDateRange(start = "startDate", end = "endDate", message = "Invalid date range")
-    private static class TestObject {
-        private LocalDateTime startDate;
-        private LocalDateTime endDate;
+    @Test
+    public void testIsValidWhenEndDateIsNullThenReturnFalse() {
+        testObject.setStart(NOW.plusDays(1));
+        testObject.setEnd(null);
+        assertFalse(validator.isValid(testObject, context));
+    }
+
+    @Test
+    public void testIsValidWithinRequestThenUseSameNowAsRequestClock() {
+        Clock clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC), NOW.plusHours(1).toInstant(ZoneOffset.UTC));
+        RequestClock requestClock = new RequestClock(clock);
+        validator = new ValidateDateRangeValidator(requestClock);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        testObject.setStart(NOW.plusMinutes(30));
+        testObject.setEnd(NOW.plusDays(1));
 
-        public LocalDateTime getStartDate() {
-            return startDate;
+        assertTrue(validator.isValid(testObject, context));
+        assertThat(requestClock.now(), is(NOW));
+    }
+
+    // Helper class to simulate the object being validated
+    @ValidateDateRange(message = "Invalid date range")
+    private static class TestObject implements DateRange {
+        private LocalDateTime start;
+        private LocalDateTime end;
+
+        @Override
+        public LocalDateTime getStart() {
+            return start;
         }
 
-        public void setStartDate(LocalDateTime startDate) {
-            this.startDate = startDate;
+        public void setStart(LocalDateTime start) {
+            this.start = start;
         }
 
-        public LocalDateTime getEndDate() {
-            return endDate;
+        @Override
+        public LocalDateTime getEnd() {
+            return end;
         }
 
-        public void setEndDate(LocalDateTime endDate) {
-            this.endDate = endDate;
+        public void setEnd(LocalDateTime end) {
+            this.end = end;
         }
     }
-}
\ No newline at end of file
+}
@@ -7,19 +7,27 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.shared.OffsetPageRequest;
+import ru.practicum.shareit.shared.exception.InvalidCursorException;
 import ru.practicum.shareit.shared.exception.ItemUnavailableException;
 import ru.practicum.shareit.shared.exception.NotAuthorizedException;
 import ru.practicum.shareit.shared.exception.NotFoundException;
 
+import javax.validation.ConstraintViolationException;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -36,6 +44,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -89,6 +98,80 @@ class BookingControllerTest {
         verify(bookingService, times(1)).addBooking(userId, addBookingDto);
     }
 
+    @Test
+    @SneakyThrows
+    void addNewBookings_ShouldReturnPerEntryResults() {
+        List<AddBookingDto> bookingDtos = List.of(addBookingDto, addBookingDto);
+        List<BookingBatchResultDto> results = List.of(
+                BookingBatchResultDto.builder().index(0).status(201).booking(bookingDto).build(),
+                BookingBatchResultDto.builder().index(1).status(404).error("Вещь с id '2' не найдена.").build());
+        when(bookingService.addBookings(userId, bookingDtos))
+                .thenReturn(results);
+
+        mvc.perform(post("/bookings/batch")
+                        .header(header, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingDtos)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Вещь с id '2' не найдена.")));
+
+        verify(bookingService, times(1)).addBookings(userId, bookingDtos);
+    }
+
+    @Test
+    @SneakyThrows
+    void addNewBookings_EmptyList_ShouldReturnStatus400() {
+        mvc.perform(post("/bookings/batch")
+                        .header(header, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof ConstraintViolationException));
+
+        verify(bookingService, never()).addBookings(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void acknowledgeBookings_ShouldReturnPerEntryResults() {
+        List<Long> bookingIds = List.of(3L, 4L);
+        List<BookingBatchResultDto> results = List.of(
+                BookingBatchResultDto.builder().index(0).status(200).booking(bookingDto).build(),
+                BookingBatchResultDto.builder().index(1).status(400).error("error").build());
+        when(bookingService.acknowledgeBookings(userId, bookingIds, true))
+                .thenReturn(results);
+
+        mvc.perform(patch("/bookings/batch")
+                        .header(header, userId)
+                        .param("approved", "true")
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[1].status", is(400)))
+                .andExpect(jsonPath("$[1].error", is("error")));
+
+        verify(bookingService, times(1)).acknowledgeBookings(userId, bookingIds, true);
+    }
+
+    @Test
+    @SneakyThrows
+    void acknowledgeBookings_WithoutApprovedParam_ShouldReturnStatus400() {
+        mvc.perform(patch("/bookings/batch")
+                        .header(header, userId)
+                        .contentType(APPLICATION_JSON)
+                        .content("[1]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(
+                        result.getResolvedException() instanceof MissingServletRequestParameterException));
+
+        verify(bookingService, never()).acknowledgeBookings(any(), any(), any());
+    }
+
     @Test
     @SneakyThrows
     void addNewBooking_BookingStartInPast_ShouldThrowMethodArgumentNotValidException() {
@@ -185,6 +268,24 @@ class BookingControllerTest {
         verify(bookingService, times(1)).acknowledgeBooking(userId, bookingId, approved);
     }
 
+    @Test
+    @SneakyThrows
+    void acknowledgeBooking_WhenConflictPersists_ShouldReturn409() {
+        Long bookingId = 2L;
+        Boolean approved = true;
+        when(bookingService.acknowledgeBooking(userId, bookingId, approved))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        mvc.perform(patch("/bookings/{bookingId}", bookingId)
+                        .header(header, userId)
+                        .param("approved", approved.toString()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors.errorMessage",
+                        is("Данные были изменены параллельным запросом, повторите попытку.")));
+
+        verify(bookingService, times(1)).acknowledgeBooking(userId, bookingId, approved);
+    }
+
     @Test
     @SneakyThrows
     void acknowledgeBooking_WhenUnexpectedException_ShouldReturn500() {
@@ -271,7 +372,7 @@ class BookingControllerTest {
         Integer size = 5;
         boolean isOwner = false;
         when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         mvc.perform(get("/bookings")
                         .header(header, userId)
@@ -293,7 +394,7 @@ class BookingControllerTest {
         GetBookingState state = GetBookingState.ALL;
         boolean isOwner = false;
         when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         mvc.perform(get("/bookings")
                         .header(header, userId))
@@ -313,7 +414,7 @@ class BookingControllerTest {
         GetBookingState state = GetBookingState.ALL;
         boolean isOwner = false;
         when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         mvc.perform(get("/bookings")
                         .header(header, userId)
@@ -371,7 +472,7 @@ class BookingControllerTest {
         Integer size = 5;
         boolean isOwner = true;
         when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         mvc.perform(get("/bookings/owner")
                         .header(header, userId)
@@ -393,7 +494,7 @@ class BookingControllerTest {
         GetBookingState state = GetBookingState.ALL;
         boolean isOwner = true;
         when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
-                .thenReturn(List.of(bookingDto));
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
 
         mvc.perform(get("/bookings/owner")
                         .header(header, userId))
@@ -440,4 +541,81 @@ class BookingControllerTest {
 
         verify(bookingService, never()).getAllBookingsFromUser(any(), any(), any(), any(), eq(isOwner));
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAllOwnerBookings_WithCursor_ShouldReturnNextCursorHeader() {
+        GetBookingState state = GetBookingState.ALL;
+        Integer size = 1;
+        boolean isOwner = true;
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.of(2030, 1, 1, 12, 0), 7L);
+        bookingDto.setId(5L);
+        bookingDto.setStart(LocalDateTime.of(2029, 1, 1, 12, 0));
+        when(bookingService.getAllBookingsFromUserAfter(userId, state, cursor, size, isOwner))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), OffsetPageRequest.of(0L, size), true));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(header, userId)
+                        .param("size", String.valueOf(size))
+                        .param("after", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-More", "true"))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.of(bookingDto).encode()))
+                .andExpect(content().string(objectMapper.writeValueAsString(List.of(bookingDto))));
+
+        verify(bookingService, times(1)).getAllBookingsFromUserAfter(userId, state, cursor, size, isOwner);
+        verify(bookingService, never()).getAllBookingsFromUser(any(), any(), any(), any(), eq(isOwner));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsFromUser_LastPage_ShouldNotReturnNextCursorHeader() {
+        GetBookingState state = GetBookingState.ALL;
+        Integer size = 5;
+        boolean isOwner = false;
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.of(2030, 1, 1, 12, 0), 7L);
+        when(bookingService.getAllBookingsFromUserAfter(userId, state, cursor, size, isOwner))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto)));
+
+        mvc.perform(get("/bookings")
+                        .header(header, userId)
+                        .param("size", String.valueOf(size))
+                        .param("after", cursor.encode()))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-More", "false"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsFromUser_FullLastPage_ShouldNotReturnNextCursorHeader() {
+        GetBookingState state = GetBookingState.ALL;
+        Long from = 0L;
+        Integer size = 1;
+        boolean isOwner = false;
+        when(bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner))
+                .thenReturn(new SliceImpl<>(List.of(bookingDto), OffsetPageRequest.of(from, size), false));
+
+        mvc.perform(get("/bookings")
+                        .header(header, userId)
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-More", "false"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    @SneakyThrows
+    void getAllBookingsFromUser_InvalidCursor_ShouldThrowInvalidCursorException() {
+        boolean isOwner = false;
+
+        mvc.perform(get("/bookings")
+                        .header(header, userId)
+                        .param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(result.getResolvedException() instanceof InvalidCursorException));
+
+        verify(bookingService, never()).getAllBookingsFromUserAfter(any(), any(), any(), any(), eq(isOwner));
+    }
+}
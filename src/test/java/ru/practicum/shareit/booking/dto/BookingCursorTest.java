@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.dto;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.shared.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BookingCursorTest {
+
+    @Test
+    void decode_EncodedCursor_ShouldReturnSamePosition() {
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.of(2024, 3, 1, 10, 15, 30, 123), 42L);
+
+        BookingCursor decoded = BookingCursor.decode(cursor.encode());
+
+        assertThat(decoded, is(cursor));
+    }
+
+    @Test
+    void decode_NotBase64_ShouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> BookingCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    void decode_WithoutSeparator_ShouldThrowInvalidCursorException() {
+        assertThrows(InvalidCursorException.class, () -> BookingCursor.decode("MjAyNA"));
+    }
+
+    @Test
+    void decode_BrokenId_ShouldThrowInvalidCursorException() {
+        String cursor = Base64.getUrlEncoder().encodeToString("2024-03-01T10:15_id".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> BookingCursor.decode(cursor));
+    }
+}
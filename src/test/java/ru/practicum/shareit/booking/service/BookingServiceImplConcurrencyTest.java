@@ -0,0 +1,195 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.shared.exception.ItemUnavailableException;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Approves bookings from many threads at once. Each test commits, so the data is removed after every test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingServiceImplConcurrencyTest {
+
+    private static final int THREADS = 8;
+
+    private static final LocalDateTime START = LocalDateTime.of(2040, 1, 1, 12, 0);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private UserStorage userStorage;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+
+    private User booker;
+
+    private ExecutorService executor;
+
+    @BeforeAll
+    void init() {
+        owner = userStorage.save(User.builder().name("owner").email("owner@concurrency.com").build());
+        booker = userStorage.save(User.builder().name("booker").email("booker@concurrency.com").build());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void cleanBookings() {
+        bookingStorage.deleteAll();
+        itemStorage.deleteAll();
+    }
+
+    @AfterAll
+    void cleanDb() {
+        executor.shutdownNow();
+        userStorage.deleteAll();
+    }
+
+    @Test
+    void acknowledgeBooking_WhenOverlappingApprovalsRace_ShouldApproveExactlyOne() throws Exception {
+        final Item item = saveItem("contended");
+        final List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(saveBooking(item, START.plusHours(i)).getId());
+        }
+
+        final List<Future<Object>> outcomes = runConcurrently(bookingIds);
+
+        int approved = 0;
+        for (Future<Object> outcome : outcomes) {
+            final Object result = outcome.get();
+            if (result instanceof Throwable) {
+                assertThat(result, anyOf(instanceOf(ItemUnavailableException.class),
+                        instanceOf(ConcurrencyFailureException.class)));
+            } else {
+                approved++;
+            }
+        }
+        assertThat(approved, is(1));
+        assertThat(countWithStatus(bookingIds, BookingStatus.APPROVED), is(1L));
+        assertThat(countWithStatus(bookingIds, BookingStatus.WAITING), is((long) THREADS - 1));
+    }
+
+    @Test
+    void acknowledgeBooking_WhenApprovalsOfDifferentItemsRace_ShouldApproveAllWithoutRetries() throws Exception {
+        final List<Long> bookingIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookingIds.add(saveBooking(saveItem("independent " + i), START).getId());
+        }
+        final double retriesBefore = retries();
+
+        final List<Future<Object>> outcomes = runConcurrently(bookingIds);
+
+        for (Future<Object> outcome : outcomes) {
+            assertThat(outcome.get() instanceof Throwable, is(false));
+        }
+        assertThat(countWithStatus(bookingIds, BookingStatus.APPROVED), is((long) THREADS));
+        assertThat(retries(), is(retriesBefore));
+    }
+
+    private List<Future<Object>> runConcurrently(List<Long> bookingIds) throws InterruptedException {
+        final CountDownLatch ready = new CountDownLatch(bookingIds.size());
+        final CountDownLatch go = new CountDownLatch(1);
+        final List<Future<Object>> outcomes = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            final Callable<Object> approval = () -> {
+                ready.countDown();
+                go.await();
+                try {
+                    return bookingService.acknowledgeBooking(owner.getId(), bookingId, true);
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            };
+            outcomes.add(executor.submit(approval));
+        }
+        assertThat(ready.await(10, TimeUnit.SECONDS), is(true));
+        go.countDown();
+        for (Future<Object> outcome : outcomes) {
+            try {
+                outcome.get(30, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                throw new AssertionError("Approval did not finish", e);
+            }
+        }
+        return outcomes;
+    }
+
+    private long countWithStatus(List<Long> bookingIds, BookingStatus status) {
+        return bookingStorage.findAllById(bookingIds).stream()
+                .map(Booking::getStatus)
+                .filter(status::equals)
+                .count();
+    }
+
+    private double retries() {
+        return meterRegistry.find("shareit.conflict.retries").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    private Item saveItem(String name) {
+        return itemStorage.save(Item.builder()
+                .name(name)
+                .description(name + " description")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    private Booking saveBooking(Item item, LocalDateTime start) {
+        return bookingStorage.save(Booking.builder()
+                .item(item)
+                .itemOwnerId(owner.getId())
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .start(start)
+                .end(start.plusDays(1))
+                .build());
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -22,11 +23,15 @@ import ru.practicum.shareit.user.storage.UserStorage;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -124,6 +129,35 @@ class BookingServiceImplIntegrationTest {
         assertThat(addedBooking.getStatus(), is(BookingStatus.WAITING));
     }
 
+    @Test
+    void addBookings_ShouldPersistValidEntriesWithDistinctIdsAndReportFailures() {
+        List<AddBookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bookingDtos.add(AddBookingDto.builder()
+                    .itemId(savedItem1.getId())
+                    .start(LocalDateTime.now().plusDays(i + 1))
+                    .end(LocalDateTime.now().plusDays(i + 2))
+                    .build());
+        }
+        bookingDtos.add(addBookingDto1);
+
+        List<BookingBatchResultDto> results = bookingService.addBookings(booker.getId(), bookingDtos);
+
+        assertThat(results.size(), is(6));
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            assertThat(results.get(i).getStatus(), is(201));
+            assertThat(results.get(i).getBooking().getItem().getId(), is(savedItem1.getId()));
+            assertThat(results.get(i).getBooking().getStatus(), is(BookingStatus.WAITING));
+            ids.add(results.get(i).getBooking().getId());
+        }
+        assertThat(ids.size(), is(5));
+        assertThat(results.get(5).getStatus(), is(400));
+        assertThat(results.get(5).getBooking(), nullValue());
+        assertThat(bookingService.getBookingById(booker.getId(), results.get(0).getBooking().getId()).getId(),
+                is(results.get(0).getBooking().getId()));
+    }
+
     @Test
     void addBooking_WhenOwnerTryToBookHisOwnItem_ShouldThrowNotAuthorizedException() {
         NotAuthorizedException e = assertThrows(NotAuthorizedException.class,
@@ -160,6 +194,47 @@ class BookingServiceImplIntegrationTest {
 
     }
 
+    @Test
+    void acknowledgeBookings_ShouldApproveOwnedWaitingBookingsAndReportOthers() {
+        BookingDto first = bookingService.addBooking(booker.getId(), addBookingDto1);
+        BookingDto second = bookingService.addBooking(booker.getId(), AddBookingDto.builder()
+                .itemId(savedItem1.getId())
+                .start(LocalDateTime.now().plusDays(5))
+                .end(LocalDateTime.now().plusDays(6))
+                .build());
+        BookingDto foreign = bookingService.addBooking(owner.getId(), addBookingDto3);
+
+        List<BookingBatchResultDto> results = bookingService.acknowledgeBookings(owner.getId(),
+                List.of(first.getId(), second.getId(), foreign.getId(), first.getId()), true);
+
+        assertThat(results.get(0).getStatus(), is(200));
+        assertThat(results.get(0).getBooking().getStatus(), is(BookingStatus.APPROVED));
+        assertThat(results.get(1).getStatus(), is(200));
+        assertThat(results.get(2).getStatus(), is(404));
+        assertThat(results.get(3).getStatus(), is(400));
+        assertThat(bookingService.getBookingById(owner.getId(), first.getId()).getStatus(),
+                is(BookingStatus.APPROVED));
+        assertThat(bookingService.getBookingById(owner.getId(), second.getId()).getStatus(),
+                is(BookingStatus.APPROVED));
+        assertThat(bookingService.getBookingById(owner.getId(), foreign.getId()).getStatus(),
+                is(BookingStatus.WAITING));
+    }
+
+    @Test
+    void acknowledgeBookings_OverlappingBookings_ShouldApproveOnlyFirst() {
+        BookingDto first = bookingService.addBooking(booker.getId(), addBookingDto1);
+        BookingDto overlapping = bookingService.addBooking(booker.getId(), addBookingDto2);
+
+        List<BookingBatchResultDto> results = bookingService.acknowledgeBookings(owner.getId(),
+                List.of(first.getId(), overlapping.getId()), true);
+
+        assertThat(results.get(0).getStatus(), is(200));
+        assertThat(results.get(1).getStatus(), is(400));
+        assertThat(results.get(1).getError(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        assertThat(bookingService.getBookingById(owner.getId(), overlapping.getId()).getStatus(),
+                is(BookingStatus.WAITING));
+    }
+
     @Test
     void acknowledgeBooking_WhenNotOwnerTryToApprove_ShouldThrowNotAuthorizedException() {
         BookingDto addedBooking = bookingService.addBooking(booker.getId(), addBookingDto1);
@@ -250,7 +325,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking2 = bookingService.addBooking(booker.getId(), addBookingDto2);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.ALL, 1L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking)));
@@ -263,7 +338,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking3 = bookingService.addBooking(owner.getId(), addBookingDto3);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.ALL, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking2)));
@@ -275,7 +350,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking2 = bookingService.addBooking(booker.getId(), addBookingDto2);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.CURRENT, 0L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking)));
@@ -287,7 +362,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking2 = bookingService.addBooking(booker.getId(), addBookingDto2);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.CURRENT, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking)));
@@ -300,7 +375,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking3 = bookingService.addBooking(owner.getId(), addBookingDto3);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.PAST, 0L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking3)));
@@ -313,7 +388,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking3 = bookingService.addBooking(owner.getId(), addBookingDto3);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.PAST, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking3)));
@@ -326,7 +401,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking3 = bookingService.addBooking(owner.getId(), addBookingDto3);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.FUTURE, 0L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking2)));
@@ -339,7 +414,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto addedBooking3 = bookingService.addBooking(owner.getId(), addBookingDto3);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.FUTURE, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking2)));
@@ -353,7 +428,7 @@ class BookingServiceImplIntegrationTest {
         bookingService.acknowledgeBooking(owner.getId(), addedBooking2.getId(), true);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.WAITING, 0L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking)));
@@ -367,7 +442,7 @@ class BookingServiceImplIntegrationTest {
         bookingService.acknowledgeBooking(owner.getId(), addedBooking2.getId(), true);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.WAITING, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(addedBooking)));
@@ -381,7 +456,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto acknowledgedBooking = bookingService.acknowledgeBooking(owner.getId(), addedBooking.getId(), false);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(owner.getId(), GetBookingState.REJECTED, 0L,
-                1, true);
+                1, true).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(acknowledgedBooking)));
@@ -395,7 +470,7 @@ class BookingServiceImplIntegrationTest {
         BookingDto acknowledgedBooking = bookingService.acknowledgeBooking(owner.getId(), addedBooking.getId(), false);
 
         List<BookingDto> bookings = bookingService.getAllBookingsFromUser(booker.getId(), GetBookingState.REJECTED, 0L,
-                1, false);
+                1, false).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(acknowledgedBooking)));
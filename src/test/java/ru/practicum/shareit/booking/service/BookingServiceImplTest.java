@@ -5,14 +5,21 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.AddBookingDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.GetBookingState;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -20,15 +27,21 @@ import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.shared.exception.ItemUnavailableException;
 import ru.practicum.shareit.shared.exception.NotAuthorizedException;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.dto.GetBookingState.*;
@@ -40,7 +53,7 @@ class BookingServiceImplTest {
     private BookingStorage bookingStorage;
 
     @Mock
-    private UserStorage userStorage;
+    private UserCache userCache;
 
     @Mock
     private ItemStorage itemStorage;
@@ -48,6 +61,18 @@ class BookingServiceImplTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private ApprovedBookingIndex approvedBookingIndex;
+
+    @Mock
+    private ItemLocks itemLocks;
+
+    @Spy
+    private RequestClock requestClock = new RequestClock(Clock.systemDefaultZone());
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -108,14 +133,14 @@ class BookingServiceImplTest {
                 .end(LocalDateTime.now().plusDays(4))
                 .build();
         User user = new User();
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(user));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
 
         bookingService.addBooking(userId, addBookingDto);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, times(1)).save(bookingArgumentCaptor.capture());
         Booking captorValue = bookingArgumentCaptor.getValue();
@@ -123,12 +148,272 @@ class BookingServiceImplTest {
         assertThat(captorValue.getItem(), is(item));
         assertThat(captorValue.getBooker(), is(user));
         assertThat(captorValue.getStatus(), is(BookingStatus.WAITING));
+        assertThat(captorValue.getItemOwnerId(), is(itemOwner.getId()));
         assertThat(captorValue.getStart(), is(addBookingDto.getStart()));
         assertThat(captorValue.getEnd(), is(addBookingDto.getEnd()));
 
         verify(bookingMapper, times(1)).toDto(any());
     }
 
+    @Test
+    void addBookings_MixedEntries_ShouldLoadItemsOnceAndSaveOnlyValidEntries() {
+        Item unavailableItem = Item.builder()
+                .id(7L)
+                .available(false)
+                .owner(itemOwner)
+                .build();
+        AddBookingDto valid = AddBookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        AddBookingDto invalidRange = AddBookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(4))
+                .end(LocalDateTime.now().plusDays(1))
+                .build();
+        AddBookingDto missingItem = AddBookingDto.builder()
+                .itemId(99L)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        AddBookingDto unavailable = AddBookingDto.builder()
+                .itemId(unavailableItem.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemStorage.findAllById(any()))
+                .thenReturn(List.of(item, unavailableItem));
+        when(bookingStorage.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.addBookings(userId,
+                List.of(valid, invalidRange, missingItem, unavailable));
+
+        assertThat(results.size(), is(4));
+        assertThat(results.get(0).getStatus(), is(201));
+        assertThat(results.get(0).getError(), nullValue());
+        assertThat(results.get(1).getStatus(), is(400));
+        assertThat(results.get(1).getError(), is("Задан некорректный интервал бронирования."));
+        assertThat(results.get(2).getStatus(), is(404));
+        assertThat(results.get(2).getError(), is("Вещь с id '99' не найдена."));
+        assertThat(results.get(3).getStatus(), is(400));
+        assertThat(results.get(3).getError(), is("Вещь недоступна для бронирования."));
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).getIndex(), is(i));
+        }
+
+        verify(itemStorage, times(1)).findAllById(any());
+        verify(itemStorage, never()).findById(any());
+        verify(bookingStorage, never()).save(any());
+        verify(bookingMapper, times(1)).toDto(any());
+    }
+
+    @Test
+    void addBookings_OwnItem_ShouldReportNotFoundForEntry() {
+        AddBookingDto addBookingDto = AddBookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        when(userCache.findById(itemOwner.getId()))
+                .thenReturn(Optional.of(itemOwner));
+        when(itemStorage.findAllById(any()))
+                .thenReturn(List.of(item));
+        when(bookingStorage.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.addBookings(itemOwner.getId(), List.of(addBookingDto));
+
+        assertThat(results.get(0).getStatus(), is(404));
+        assertThat(results.get(0).getError(), is("Вещь с id '" + itemId +
+                "' уже принадлежит пользователю с id '" + itemOwner.getId() + "'."));
+        verify(bookingMapper, never()).toDto(any());
+    }
+
+    @Test
+    void addBookings_UserNotFound_ShouldThrowNotFoundException() {
+        when(userCache.findById(userId))
+                .thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> bookingService.addBookings(userId, List.of(new AddBookingDto())));
+
+        assertThat(e.getMessage(), is("Пользователь с id '" + userId + "' не найден."));
+        verify(itemStorage, never()).findAllById(any());
+        verify(bookingStorage, never()).saveAll(any());
+    }
+
+    @Test
+    void acknowledgeBookings_MixedEntries_ShouldUpdateOnlyAcknowledgeableBookingsInOneStatement() {
+        Booking waiting = createOwnedBooking(10L, BookingStatus.WAITING, itemOwner.getId());
+        Booking rejected = createOwnedBooking(11L, BookingStatus.REJECTED, itemOwner.getId());
+        Booking foreign = createOwnedBooking(12L, BookingStatus.WAITING, 99L);
+        when(userCache.findById(itemOwner.getId()))
+                .thenReturn(Optional.of(itemOwner));
+        when(bookingStorage.findItemIdsByIdInAndItemOwnerId(any(), eq(itemOwner.getId())))
+                .thenReturn(Set.of(itemId));
+        when(bookingStorage.findAllBookingsByIdIn(any()))
+                .thenReturn(List.of(waiting, rejected, foreign));
+        when(itemStorage.incrementVersion(itemId))
+                .thenReturn(1);
+        when(bookingStorage.updateStatusByIdIn(any(), eq(BookingStatus.APPROVED), eq(BookingStatus.WAITING)))
+                .thenReturn(1);
+
+        List<BookingBatchResultDto> results = bookingService.acknowledgeBookings(itemOwner.getId(),
+                List.of(10L, 11L, 12L, 13L, 10L), true);
+
+        assertThat(results.get(0).getStatus(), is(200));
+        assertThat(results.get(1).getStatus(), is(400));
+        assertThat(results.get(1).getError(), is("Текущий статус бронирования не позволяет сделать подтверждение."));
+        assertThat(results.get(2).getStatus(), is(404));
+        assertThat(results.get(2).getError(), is("Пользователь с id '" + itemOwner.getId() +
+                "' не является владельцем вещи с id '" + itemId + "'."));
+        assertThat(results.get(3).getStatus(), is(404));
+        assertThat(results.get(3).getError(), is("Бронирование с id '13' не найдено."));
+        assertThat(results.get(4).getStatus(), is(400));
+        assertThat(waiting.getStatus(), is(BookingStatus.APPROVED));
+
+        InOrder inOrder = inOrder(itemLocks, bookingStorage);
+        inOrder.verify(itemLocks, times(1)).lockUntilCompletion(Set.of(itemId));
+        inOrder.verify(bookingStorage, times(1)).findAllBookingsByIdIn(Set.of(10L, 11L, 12L, 13L));
+        verify(bookingStorage, times(1)).updateStatusByIdIn(Set.of(10L), BookingStatus.APPROVED,
+                BookingStatus.WAITING);
+        verify(bookingStorage, never()).findBookingById(any());
+        verify(bookingMapper, times(1)).toDto(waiting);
+    }
+
+    @Test
+    void acknowledgeBookings_OverlappingBookingsInOneBatch_ShouldApproveOnlyFirst() {
+        Booking first = createOwnedBooking(10L, BookingStatus.WAITING, itemOwner.getId());
+        Booking overlapping = createOwnedBooking(11L, BookingStatus.WAITING, itemOwner.getId());
+        overlapping.setStart(first.getStart().plusDays(1));
+        Booking overlapsIndexed = createOwnedBooking(12L, BookingStatus.WAITING, itemOwner.getId());
+        overlapsIndexed.setStart(first.getEnd().plusDays(10));
+        overlapsIndexed.setEnd(first.getEnd().plusDays(11));
+        when(userCache.findById(itemOwner.getId()))
+                .thenReturn(Optional.of(itemOwner));
+        when(bookingStorage.findItemIdsByIdInAndItemOwnerId(any(), eq(itemOwner.getId())))
+                .thenReturn(Set.of(itemId));
+        when(bookingStorage.findAllBookingsByIdIn(any()))
+                .thenReturn(List.of(first, overlapping, overlapsIndexed));
+        when(approvedBookingIndex.overlaps(eq(itemId), any(), any()))
+                .thenAnswer(invocation -> overlapsIndexed.getStart().equals(invocation.getArgument(1)));
+        when(itemStorage.incrementVersion(itemId))
+                .thenReturn(1);
+        when(bookingStorage.updateStatusByIdIn(any(), eq(BookingStatus.APPROVED), eq(BookingStatus.WAITING)))
+                .thenReturn(1);
+
+        List<BookingBatchResultDto> results = bookingService.acknowledgeBookings(itemOwner.getId(),
+                List.of(10L, 11L, 12L), true);
+
+        assertThat(results.get(0).getStatus(), is(200));
+        assertThat(results.get(1).getStatus(), is(400));
+        assertThat(results.get(1).getError(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        assertThat(results.get(2).getStatus(), is(400));
+        verify(bookingStorage, times(1)).updateStatusByIdIn(Set.of(10L), BookingStatus.APPROVED,
+                BookingStatus.WAITING);
+        verify(approvedBookingIndex, times(1)).addApproved(itemId, first.getStart(), first.getEnd());
+        verify(approvedBookingIndex, times(1)).addApproved(any(), any(), any());
+    }
+
+    @Test
+    void acknowledgeBookings_OverlapApprovedConcurrently_ShouldFailOnlyThatEntry() {
+        Booking first = createOwnedBooking(10L, BookingStatus.WAITING, itemOwner.getId());
+        Booking second = createOwnedBooking(11L, BookingStatus.WAITING, itemOwner.getId());
+        second.setStart(first.getEnd().plusDays(1));
+        second.setEnd(first.getEnd().plusDays(2));
+        when(userCache.findById(itemOwner.getId()))
+                .thenReturn(Optional.of(itemOwner));
+        when(bookingStorage.findItemIdsByIdInAndItemOwnerId(any(), eq(itemOwner.getId())))
+                .thenReturn(Set.of(itemId));
+        when(bookingStorage.findAllBookingsByIdIn(any()))
+                .thenReturn(List.of(first, second));
+        when(itemStorage.incrementVersion(itemId))
+                .thenReturn(1);
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(eq(itemId), eq(BookingStatus.APPROVED),
+                any(), any()))
+                .thenAnswer(invocation -> second.getEnd().equals(invocation.getArgument(2)));
+        when(bookingStorage.updateStatusByIdIn(any(), eq(BookingStatus.APPROVED), eq(BookingStatus.WAITING)))
+                .thenReturn(1);
+
+        List<BookingBatchResultDto> results = bookingService.acknowledgeBookings(itemOwner.getId(),
+                List.of(10L, 11L), true);
+
+        assertThat(results.get(0).getStatus(), is(200));
+        assertThat(results.get(1).getStatus(), is(400));
+        assertThat(results.get(1).getError(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        assertThat(second.getStatus(), is(BookingStatus.WAITING));
+        verify(itemStorage, times(1)).incrementVersion(itemId);
+        verify(bookingStorage, times(1)).updateStatusByIdIn(Set.of(10L), BookingStatus.APPROVED,
+                BookingStatus.WAITING);
+        verify(approvedBookingIndex, times(1)).addApproved(any(), any(), any());
+    }
+
+    @Test
+    void acknowledgeBookings_StatusChangedConcurrently_ShouldThrowConcurrencyFailureException() {
+        Booking waiting = createOwnedBooking(10L, BookingStatus.WAITING, itemOwner.getId());
+        when(userCache.findById(itemOwner.getId()))
+                .thenReturn(Optional.of(itemOwner));
+        when(bookingStorage.findItemIdsByIdInAndItemOwnerId(any(), eq(itemOwner.getId())))
+                .thenReturn(Set.of(itemId));
+        when(bookingStorage.findAllBookingsByIdIn(any()))
+                .thenReturn(List.of(waiting));
+        when(bookingStorage.updateStatusByIdIn(any(), eq(BookingStatus.REJECTED), eq(BookingStatus.WAITING)))
+                .thenReturn(0);
+
+        assertThrows(ConcurrencyFailureException.class,
+                () -> bookingService.acknowledgeBookings(itemOwner.getId(), List.of(10L), false));
+        verify(bookingMapper, never()).toDto(any());
+    }
+
+    @Test
+    void addBooking_OverlapsApprovedBooking_ShouldThrowItemUnavailableException() {
+        AddBookingDto addBookingDto = AddBookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemStorage.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(approvedBookingIndex.overlaps(itemId, addBookingDto.getStart(), addBookingDto.getEnd()))
+                .thenReturn(true);
+
+        ItemUnavailableException e = assertThrows(ItemUnavailableException.class,
+                () -> bookingService.addBooking(userId, addBookingDto));
+
+        assertThat(e.getMessage(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        verify(bookingStorage, never()).save(any());
+    }
+
+    @Test
+    void addBooking_OverlapsApprovedBookingMissingFromIndex_ShouldThrowItemUnavailableException() {
+        AddBookingDto addBookingDto = AddBookingDto.builder()
+                .itemId(itemId)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .build();
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(booker));
+        when(itemStorage.findById(itemId))
+                .thenReturn(Optional.of(item));
+        when(approvedBookingIndex.overlaps(itemId, addBookingDto.getStart(), addBookingDto.getEnd()))
+                .thenReturn(false);
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED,
+                addBookingDto.getEnd(), addBookingDto.getStart()))
+                .thenReturn(true);
+
+        ItemUnavailableException e = assertThrows(ItemUnavailableException.class,
+                () -> bookingService.addBooking(userId, addBookingDto));
+
+        assertThat(e.getMessage(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        verify(bookingStorage, never()).save(any());
+    }
+
     @Test
     void addBooking_UserNotFound_ShouldThrowNotFoundException() {
         AddBookingDto addBookingDto = AddBookingDto.builder()
@@ -136,7 +421,7 @@ class BookingServiceImplTest {
                 .start(LocalDateTime.now().plusDays(1))
                 .end(LocalDateTime.now().plusDays(4))
                 .build();
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -144,7 +429,7 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Пользователь с id '" + userId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemStorage, never()).findById(any());
         verify(bookingStorage, never()).save(any());
         verify(bookingMapper, never()).toDto(any());
@@ -158,7 +443,7 @@ class BookingServiceImplTest {
                 .end(LocalDateTime.now().plusDays(4))
                 .build();
         User user = new User();
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(user));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.empty());
@@ -168,7 +453,7 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Вещь с id '" + itemId + "' не найдена."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, never()).save(any());
         verify(bookingMapper, never()).toDto(any());
@@ -183,7 +468,7 @@ class BookingServiceImplTest {
                 .build();
         User user = new User();
         itemOwner.setId(userId);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(user));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -194,7 +479,7 @@ class BookingServiceImplTest {
         assertThat(e.getMessage(), is("Вещь с id '" + itemId +
                 "' уже принадлежит пользователю с id '" + userId + "'."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, never()).save(any());
         verify(bookingMapper, never()).toDto(any());
@@ -203,32 +488,104 @@ class BookingServiceImplTest {
     @Test
     void acknowledgeBooking_UserAndBookingFoundAndSApprovedTrue_ShouldReturnBookingDto() {
         itemOwner.setId(userId);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
+        when(itemStorage.incrementVersion(itemId))
+                .thenReturn(1);
 
         bookingService.acknowledgeBooking(userId, bookingId, true);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, times(1)).toDto(bookingArgumentCaptor.capture());
         Booking captorValue = bookingArgumentCaptor.getValue();
 
         assertThat(captorValue.getStatus(), is(BookingStatus.APPROVED));
+        InOrder inOrder = inOrder(itemLocks, bookingStorage);
+        inOrder.verify(itemLocks, times(1)).lockUntilCompletion(itemId);
+        inOrder.verify(bookingStorage, times(1)).findBookingById(bookingId);
+        verify(approvedBookingIndex, times(1)).addApproved(itemId, booking.getStart(), booking.getEnd());
+    }
+
+    @Test
+    void acknowledgeBooking_ApproveOverlappingApprovedBooking_ShouldThrowItemUnavailableException() {
+        itemOwner.setId(userId);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
+        when(bookingStorage.findBookingById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(approvedBookingIndex.overlaps(itemId, booking.getStart(), booking.getEnd()))
+                .thenReturn(true);
+
+        ItemUnavailableException e = assertThrows(ItemUnavailableException.class,
+                () -> bookingService.acknowledgeBooking(userId, bookingId, true));
+
+        assertThat(e.getMessage(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        assertThat(booking.getStatus(), is(BookingStatus.WAITING));
+        verify(approvedBookingIndex, never()).addApproved(any(), any(), any());
+        verify(bookingMapper, never()).toDto(any());
+    }
+
+    @Test
+    void acknowledgeBooking_OverlapApprovedConcurrently_ShouldThrowItemUnavailableException() {
+        itemOwner.setId(userId);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
+        when(bookingStorage.findBookingById(bookingId))
+                .thenReturn(Optional.of(booking));
+        when(itemStorage.incrementVersion(itemId))
+                .thenReturn(1);
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, BookingStatus.APPROVED,
+                booking.getEnd(), booking.getStart()))
+                .thenReturn(true);
+
+        ItemUnavailableException e = assertThrows(ItemUnavailableException.class,
+                () -> bookingService.acknowledgeBooking(userId, bookingId, true));
+
+        assertThat(e.getMessage(), is("Период бронирования пересекается с подтверждённым бронированием вещи."));
+        assertThat(booking.getStatus(), is(BookingStatus.WAITING));
+        verify(approvedBookingIndex, never()).addApproved(any(), any(), any());
+    }
+
+    @Test
+    void acknowledgeBooking_RejectOverlappingBooking_ShouldNotCheckOverlap() {
+        itemOwner.setId(userId);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
+        when(bookingStorage.findBookingById(bookingId))
+                .thenReturn(Optional.of(booking));
+
+        bookingService.acknowledgeBooking(userId, bookingId, false);
+
+        assertThat(booking.getStatus(), is(BookingStatus.REJECTED));
+        verify(approvedBookingIndex, never()).overlaps(any(), any(), any());
+        verify(itemStorage, never()).incrementVersion(any());
+        verify(approvedBookingIndex, never()).addApproved(any(), any(), any());
     }
 
     @Test
     void acknowledgeBooking_UserAndBookingFoundAndApprovedFalse_ShouldReturnBookingDto() {
         itemOwner.setId(userId);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         bookingService.acknowledgeBooking(userId, bookingId, false);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, times(1)).toDto(bookingArgumentCaptor.capture());
         Booking captorValue = bookingArgumentCaptor.getValue();
@@ -240,8 +597,10 @@ class BookingServiceImplTest {
     void acknowledgeBooking_UserAndBookingFoundBookingStatusNotWaiting_ShouldThrowItemUnavailableException() {
         itemOwner.setId(userId);
         booking.setStatus(BookingStatus.APPROVED);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findItemIdById(bookingId))
+                .thenReturn(Optional.of(itemId));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
 
@@ -250,7 +609,7 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Текущий статус бронирования не позволяет сделать подтверждение."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, never()).toDto(any());
     }
@@ -258,7 +617,7 @@ class BookingServiceImplTest {
     @Test
     void acknowledgeBooking_UserNotFound_ShouldThrowNotFoundException() {
         itemOwner.setId(userId);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -266,7 +625,7 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Пользователь с id '" + userId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, never()).findBookingById(any());
         verify(bookingMapper, never()).toDto(any());
     }
@@ -274,9 +633,9 @@ class BookingServiceImplTest {
     @Test
     void acknowledgeBooking_BookingNotFound_ShouldThrowNotFoundException() {
         itemOwner.setId(userId);
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
-        when(bookingStorage.findBookingById(bookingId))
+        when(bookingStorage.findItemIdById(bookingId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -284,35 +643,36 @@ class BookingServiceImplTest {
 
         assertThat(e.getMessage(), is("Бронирование с id '" + bookingId + "' не найдено."));
 
-        verify(userStorage, times(1)).findById(userId);
-        verify(bookingStorage, times(1)).findBookingById(bookingId);
+        verify(userCache, times(1)).findById(userId);
+        verify(itemLocks, never()).lockUntilCompletion(any(Long.class));
+        verify(bookingStorage, never()).findBookingById(any());
         verify(bookingMapper, never()).toDto(any());
     }
 
     @Test
     void getBookingById_RequesterIsBooker() {
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         bookingService.getBookingById(userId, bookingId);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
     void getBookingById_RequesterIsItemOwner() {
-        when(userStorage.findById(itemOwner.getId()))
+        when(userCache.findById(itemOwner.getId()))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
 
         bookingService.getBookingById(itemOwner.getId(), bookingId);
 
-        verify(userStorage, times(1)).findById(itemOwner.getId());
+        verify(userCache, times(1)).findById(itemOwner.getId());
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, times(1)).toDto(booking);
     }
@@ -320,7 +680,7 @@ class BookingServiceImplTest {
     @Test
     void getBookingById_UnauthorizedRequest_ShouldThrowNotAuthorizedException() {
         long unknownUserId = 99L;
-        when(userStorage.findById(unknownUserId))
+        when(userCache.findById(unknownUserId))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.of(booking));
@@ -330,28 +690,28 @@ class BookingServiceImplTest {
         assertThat(e.getMessage(), is("У пользователя с id '" + unknownUserId + "' нет прав для доступа к бронированию с" +
                 " id '" + bookingId + "'."));
 
-        verify(userStorage, times(1)).findById(unknownUserId);
+        verify(userCache, times(1)).findById(unknownUserId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, never()).toDto(any());
     }
 
     @Test
     void getBookingById_UserNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> bookingService.getBookingById(userId, bookingId));
         assertThat(e.getMessage(), is("Пользователь с id '" + userId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, never()).findBookingById(any());
         verify(bookingMapper, never()).toDto(any());
     }
 
     @Test
     void getBookingById_BookingNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingById(bookingId))
                 .thenReturn(Optional.empty());
@@ -360,7 +720,7 @@ class BookingServiceImplTest {
                 () -> bookingService.getBookingById(userId, bookingId));
         assertThat(e.getMessage(), is("Бронирование с id '" + bookingId + "' не найдено."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingById(bookingId);
         verify(bookingMapper, never()).toDto(any());
     }
@@ -371,21 +731,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findAllByItemOwnerId(eq(userId), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findAllByItemOwnerId(eq(userId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -394,21 +754,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findCurrentBookingsByOwnerId(eq(userId), any(), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findCurrentBookingsByOwnerId(eq(userId), any(), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -417,21 +777,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findPastBookingsByOwnerId(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findPastBookingsByOwnerId(eq(userId), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -440,21 +800,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findFutureBookingsByOwnerId(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findFutureBookingsByOwnerId(eq(userId), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -463,21 +823,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingsByOwnerIdAndStatus(eq(userId), eq(BookingStatus.WAITING), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingsByOwnerIdAndStatus(eq(userId),
                 eq(BookingStatus.WAITING), offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -486,21 +846,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = true;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingsByOwnerIdAndStatus(eq(userId), eq(BookingStatus.REJECTED), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingsByOwnerIdAndStatus(eq(userId),
                 eq(BookingStatus.REJECTED), offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -509,21 +869,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findAllByBookerId(eq(userId), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findAllByBookerId(eq(userId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -532,21 +892,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findCurrentBookingsByBookerId(eq(userId), any(), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findCurrentBookingsByBookerId(eq(userId), any(), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -555,21 +915,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findPastBookingsByBookerId(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findPastBookingsByBookerId(eq(userId), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -578,21 +938,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findFutureBookingsByBookerId(eq(userId), any(), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findFutureBookingsByBookerId(eq(userId), any(),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -601,21 +961,21 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingsByBookerIdAndStatus(eq(userId), eq(BookingStatus.WAITING), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingsByBookerIdAndStatus(eq(userId),
                 eq(BookingStatus.WAITING), offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
     }
 
     @Test
@@ -624,20 +984,86 @@ class BookingServiceImplTest {
         Long from = 1L;
         Integer size = 2;
         boolean isOwner = false;
-        when(userStorage.findById(eq(userId)))
+        when(userCache.findById(eq(userId)))
                 .thenReturn(Optional.of(new User()));
         when(bookingStorage.findBookingsByBookerIdAndStatus(eq(userId), eq(BookingStatus.REJECTED), any()))
-                .thenReturn(List.of(booking));
+                .thenReturn(new SliceImpl<>(List.of(booking)));
 
         bookingService.getAllBookingsFromUser(userId, state, from, size, isOwner);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(bookingStorage, times(1)).findBookingsByBookerIdAndStatus(eq(userId),
                 eq(BookingStatus.REJECTED), offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
 
-        verify(bookingMapper, times(1)).toDtoList(List.of(booking));
+        verify(bookingMapper, times(1)).toDto(booking);
+    }
+
+    @Test
+    void getAllBookingsFromUserAfter_RequesterIsOwnerStateAll_ShouldSeekFromCursor() {
+        GetBookingState state = ALL;
+        Integer size = 2;
+        boolean isOwner = true;
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.now(), 10L);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findAllByItemOwnerIdBeforeCursor(eq(userId), eq(cursor.getStart()), eq(cursor.getId()),
+                any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        bookingService.getAllBookingsFromUserAfter(userId, state, cursor, size, isOwner);
+
+        verify(bookingStorage, times(1)).findAllByItemOwnerIdBeforeCursor(eq(userId), eq(cursor.getStart()),
+                eq(cursor.getId()), offsetPageRequestArgumentCaptor.capture());
+        OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
+        assertThat(captorValue.getOffset(), is(0L));
+        assertThat(captorValue.getPageSize(), is(size));
+
+        verify(bookingMapper, times(1)).toDto(booking);
+    }
+
+    @Test
+    void getAllBookingsFromUserAfter_RequesterIsBookerStateWaiting_ShouldSeekFromCursor() {
+        GetBookingState state = WAITING;
+        Integer size = 2;
+        boolean isOwner = false;
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.now(), 10L);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(bookingStorage.findBookingsByBookerIdAndStatusBeforeCursor(eq(userId), eq(BookingStatus.WAITING),
+                eq(cursor.getStart()), eq(cursor.getId()), any()))
+                .thenReturn(new SliceImpl<>(List.of(booking)));
+
+        bookingService.getAllBookingsFromUserAfter(userId, state, cursor, size, isOwner);
+
+        verify(bookingStorage, times(1)).findBookingsByBookerIdAndStatusBeforeCursor(eq(userId),
+                eq(BookingStatus.WAITING), eq(cursor.getStart()), eq(cursor.getId()), any());
+        verify(bookingMapper, times(1)).toDto(booking);
+    }
+
+    @Test
+    void getAllBookingsFromUserAfter_UserNotFound_ShouldThrowNotFoundException() {
+        BookingCursor cursor = BookingCursor.of(LocalDateTime.now(), 10L);
+        when(userCache.findById(userId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> bookingService.getAllBookingsFromUserAfter(userId, ALL, cursor, 2, true));
+
+        verifyNoInteractions(bookingStorage);
+    }
+
+    private Booking createOwnedBooking(Long id, BookingStatus status, Long ownerId) {
+        return Booking.builder()
+                .id(id)
+                .status(status)
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .itemOwnerId(ownerId)
+                .booker(booker)
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ItemLocksTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ItemLocks itemLocks;
+
+    @BeforeEach
+    void init() {
+        final ItemLockProperties properties = new ItemLockProperties();
+        properties.setStripes(1024);
+        properties.setTimeout(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+        itemLocks = new ItemLocks(properties, meterRegistry);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void lockUntilCompletion_WithoutTransaction_ShouldThrowIllegalStateException() {
+        assertThrows(IllegalStateException.class, () -> itemLocks.lockUntilCompletion(1L));
+    }
+
+    @Test
+    void lockUntilCompletion_SameItemLockedElsewhere_ShouldWaitUntilTransactionCompletes() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> holder = holdInOtherThread(1L, release);
+
+        final CompletableFuture<Void> waiter = CompletableFuture.runAsync(() -> inTransaction(1L, () -> {
+        }));
+        Thread.sleep(50);
+        assertThat(waiter.isDone(), is(false));
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        waiter.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.counter(ItemLocks.ACQUISITIONS_METRIC, "contended", "true").count(), is(1.0));
+        assertThat(meterRegistry.timer(ItemLocks.WAIT_METRIC).count(), is(1L));
+    }
+
+    @Test
+    void lockUntilCompletion_OtherItemLockedElsewhere_ShouldNotWait() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> holder = holdInOtherThread(1L, release);
+
+        inTransaction(2L, () -> {
+        });
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(meterRegistry.counter(ItemLocks.ACQUISITIONS_METRIC, "contended", "false").count(), is(2.0));
+        assertThat(meterRegistry.counter(ItemLocks.ACQUISITIONS_METRIC, "contended", "true").count(), is(0.0));
+    }
+
+    @Test
+    void lockUntilCompletion_LockHeldLongerThanTimeout_ShouldThrowCannotAcquireLockException() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<Void> holder = holdInOtherThread(1L, release);
+
+        TransactionSynchronizationManager.initSynchronization();
+        assertThrows(CannotAcquireLockException.class, () -> itemLocks.lockUntilCompletion(List.of(2L, 1L)));
+        completeTransaction();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        CompletableFuture.runAsync(() -> inTransaction(2L, () -> {
+        })).get(5, TimeUnit.SECONDS);
+    }
+
+    private CompletableFuture<Void> holdInOtherThread(Long itemId, CountDownLatch release)
+            throws InterruptedException {
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> inTransaction(itemId, () -> {
+            locked.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(5, TimeUnit.SECONDS), is(true));
+        return holder;
+    }
+
+    private void inTransaction(Long itemId, Runnable body) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemLocks.lockUntilCompletion(itemId);
+            body.run();
+        } finally {
+            completeTransaction();
+        }
+    }
+
+    private void completeTransaction() {
+        final List<TransactionSynchronization> synchronizations =
+                TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
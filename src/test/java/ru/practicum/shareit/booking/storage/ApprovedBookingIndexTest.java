@@ -0,0 +1,178 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ApprovedBookingIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingStorage bookingStorage;
+
+    private ApprovedBookingIndex approvedBookingIndex;
+
+    @BeforeEach
+    void init() {
+        approvedBookingIndex = new ApprovedBookingIndex(bookingStorage, new ApprovedBookingIndexProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void overlaps_ShouldLoadApprovedPeriodsOncePerItem() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(BASE, BASE.plusDays(2))));
+
+        assertThat(approvedBookingIndex.overlaps(1L, BASE.plusDays(1), BASE.plusDays(3)), is(true));
+        assertThat(approvedBookingIndex.overlaps(1L, BASE.plusDays(2), BASE.plusDays(3)), is(false));
+        assertThat(approvedBookingIndex.overlaps(1L, BASE.minusDays(1), BASE), is(false));
+
+        verify(bookingStorage, times(1)).findAllByItemIdAndStatus(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void addApproved_LoadedItemWithoutTransaction_ShouldApplyImmediately() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(false));
+
+        approvedBookingIndex.addApproved(1L, BASE, BASE.plusDays(1));
+
+        assertThat(approvedBookingIndex.overlaps(1L, BASE.plusHours(1), BASE.plusHours(2)), is(true));
+    }
+
+    @Test
+    void addApproved_InTransaction_ShouldApplyAfterCommit() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(false));
+        TransactionSynchronizationManager.initSynchronization();
+
+        approvedBookingIndex.addApproved(1L, BASE, BASE.plusDays(1));
+
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(false));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(true));
+    }
+
+    @Test
+    void addApproved_ItemNotLoaded_ShouldBeReadFromStorageOnFirstLookup() {
+        approvedBookingIndex.addApproved(2L, BASE, BASE.plusDays(1));
+        when(bookingStorage.findAllByItemIdAndStatus(2L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(BASE, BASE.plusDays(1))));
+
+        assertThat(approvedBookingIndex.overlaps(2L, BASE, BASE.plusDays(1)), is(true));
+        verify(bookingStorage, times(1)).findAllByItemIdAndStatus(2L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void overlaps_AfterScheduleExpired_ShouldReadApprovalsFromOtherInstances() {
+        ApprovedBookingIndexProperties properties = new ApprovedBookingIndexProperties();
+        properties.setExpireAfterWrite(Duration.ZERO);
+        approvedBookingIndex = new ApprovedBookingIndex(bookingStorage, properties);
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of())
+                .thenReturn(List.of(period(BASE, BASE.plusDays(1))));
+
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(false));
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(true));
+
+        verify(bookingStorage, times(2)).findAllByItemIdAndStatus(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void findFreeSlots_ShouldReturnWholeFreeHoursCutToWindow() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(BASE.plusMinutes(30), BASE.plusHours(2))));
+
+        List<AvailabilitySlotDto> slots = approvedBookingIndex.findFreeSlots(1L, BASE.minusMinutes(90),
+                BASE.plusHours(4).plusMinutes(15));
+
+        assertThat(slots, is(List.of(
+                new AvailabilitySlotDto(BASE.minusMinutes(90), BASE),
+                new AvailabilitySlotDto(BASE.plusHours(2), BASE.plusHours(4).plusMinutes(15)))));
+    }
+
+    @Test
+    void findFreeSlots_AfterApprovalCommitted_ShouldExcludeApprovedHours() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of());
+        assertThat(approvedBookingIndex.findFreeSlots(1L, BASE, BASE.plusHours(3)),
+                is(List.of(new AvailabilitySlotDto(BASE, BASE.plusHours(3)))));
+
+        approvedBookingIndex.addApproved(1L, BASE.plusHours(1), BASE.plusHours(2));
+
+        assertThat(approvedBookingIndex.findFreeSlots(1L, BASE, BASE.plusHours(3)), is(List.of(
+                new AvailabilitySlotDto(BASE, BASE.plusHours(1)),
+                new AvailabilitySlotDto(BASE.plusHours(2), BASE.plusHours(3)))));
+        verify(bookingStorage, times(1)).findAllByItemIdAndStatus(1L, BookingStatus.APPROVED);
+    }
+
+    @Test
+    void findFreeSlots_WhenBookingsSpanYearsOrLieFarAhead_ShouldOnlyLookAtWindow() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenReturn(List.of(period(BASE.minusYears(5), BASE.plusHours(1)),
+                        period(BASE.plusHours(3), BASE.plusYears(500)),
+                        period(LocalDateTime.of(9999, 1, 1, 0, 0), LocalDateTime.of(9999, 12, 31, 0, 0))));
+
+        List<AvailabilitySlotDto> slots = approvedBookingIndex.findFreeSlots(1L, BASE, BASE.plusHours(5));
+
+        assertThat(slots, is(List.of(new AvailabilitySlotDto(BASE.plusHours(1), BASE.plusHours(3)))));
+        assertThat(approvedBookingIndex.overlaps(1L, BASE.plusYears(100), BASE.plusYears(101)), is(true));
+    }
+
+    @Test
+    void overlaps_WhenApprovalCommitsWhileLoading_ShouldNotKeepStaleSchedule() {
+        when(bookingStorage.findAllByItemIdAndStatus(1L, BookingStatus.APPROVED))
+                .thenAnswer(invocation -> {
+                    approvedBookingIndex.addApproved(1L, BASE, BASE.plusDays(1));
+                    return List.of();
+                })
+                .thenReturn(List.of(period(BASE, BASE.plusDays(1))));
+
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(false));
+        assertThat(approvedBookingIndex.overlaps(1L, BASE, BASE.plusDays(1)), is(true));
+
+        verify(bookingStorage, times(2)).findAllByItemIdAndStatus(1L, BookingStatus.APPROVED);
+    }
+
+    private static BookingPeriod period(LocalDateTime start, LocalDateTime end) {
+        return new BookingPeriod() {
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEnd() {
+                return end;
+            }
+        };
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.hamcrest.Matcher;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.matchesPattern;
+
+/**
+ * Captures the SQL Hibernate generates for the BookingStorage listing queries and checks via H2 EXPLAIN that
+ * each one reads bookings through the index from the migrations that was built for it.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@Import(BookingIndexUsageTest.StatementCaptureConfig.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIndexUsageTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private static final Pageable PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StatementCapture statementCapture;
+
+    @BeforeAll
+    void init() {
+        jdbcTemplate.update("INSERT INTO users (username, email) " +
+                "SELECT 'explain' || X, 'explain' || X || '@mail.com' FROM SYSTEM_RANGE(1, 50)");
+        jdbcTemplate.update("INSERT INTO items (item_name, description, available, owner_id) " +
+                "SELECT 'item' || X, 'description', TRUE, u.id FROM users u, SYSTEM_RANGE(1, 10) " +
+                "WHERE u.email LIKE 'explain%'");
+        jdbcTemplate.update("INSERT INTO bookings (item_id, item_owner_id, user_id, status, start_date, end_date) " +
+                "SELECT i.id, i.owner_id, u.id, " +
+                "CASE MOD(i.id + X, 3) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'APPROVED' ELSE 'REJECTED' END, " +
+                "DATEADD('HOUR', i.id * 10 + X, TIMESTAMP '2024-01-01 00:00:00'), " +
+                "DATEADD('HOUR', i.id * 10 + X + 5, TIMESTAMP '2024-01-01 00:00:00') " +
+                "FROM items i JOIN users u ON u.id <> i.owner_id AND MOD(u.id + X, 50) = MOD(i.id, 50), " +
+                "SYSTEM_RANGE(1, 10) WHERE u.email LIKE 'explain%'");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterAll
+    void cleanDb() {
+        jdbcTemplate.update("DELETE FROM bookings WHERE user_id IN (SELECT id FROM users WHERE email LIKE 'explain%')");
+        jdbcTemplate.update("DELETE FROM items WHERE owner_id IN (SELECT id FROM users WHERE email LIKE 'explain%')");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'explain%'");
+    }
+
+    @Test
+    void findAllByBookerId_ShouldUseBookerForeignKeyIndex() {
+        assertThat(explain(() -> bookingStorage.findAllByBookerId(1L, PAGE)),
+                usesIndex(foreignKeyIndex("USER_ID")));
+    }
+
+    @Test
+    void findCurrentBookingsByBookerId_ShouldUseBookerStartIndex() {
+        assertThat(explain(() -> bookingStorage.findCurrentBookingsByBookerId(1L, NOW, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void findPastBookingsByBookerId_ShouldUseBookerEndIndex() {
+        assertThat(explain(() -> bookingStorage.findPastBookingsByBookerId(1L, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_BOOKER_END"));
+    }
+
+    @Test
+    void findFutureBookingsByBookerId_ShouldUseBookerStartIndex() {
+        assertThat(explain(() -> bookingStorage.findFutureBookingsByBookerId(1L, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_BOOKER_START"));
+    }
+
+    @Test
+    void findBookingsByBookerIdAndStatus_ShouldUseBookerStatusStartIndex() {
+        assertThat(explain(() -> bookingStorage.findBookingsByBookerIdAndStatus(1L, BookingStatus.WAITING, PAGE)),
+                usesIndex("IDX_BOOKINGS_BOOKER_STATUS_START"));
+    }
+
+    @Test
+    void findAllByBookerIdBeforeCursor_ShouldUseBookerForeignKeyIndex() {
+        assertThat(explain(() -> bookingStorage.findAllByBookerIdBeforeCursor(1L, NOW, 100L, PAGE)),
+                usesIndex(foreignKeyIndex("USER_ID")));
+    }
+
+    @Test
+    void findAllByItemOwnerId_ShouldUseOwnerForeignKeyIndex() {
+        assertThat(explain(() -> bookingStorage.findAllByItemOwnerId(1L, PAGE)),
+                usesIndex(foreignKeyIndex("ITEM_OWNER_ID")));
+    }
+
+    @Test
+    void findCurrentBookingsByOwnerId_ShouldUseOwnerStartIndex() {
+        assertThat(explain(() -> bookingStorage.findCurrentBookingsByOwnerId(1L, NOW, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_OWNER_START"));
+    }
+
+    @Test
+    void findPastBookingsByOwnerId_ShouldUseOwnerEndIndex() {
+        assertThat(explain(() -> bookingStorage.findPastBookingsByOwnerId(1L, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_OWNER_END"));
+    }
+
+    @Test
+    void findFutureBookingsByOwnerId_ShouldUseOwnerStartIndex() {
+        assertThat(explain(() -> bookingStorage.findFutureBookingsByOwnerId(1L, NOW, PAGE)),
+                usesIndex("IDX_BOOKINGS_OWNER_START"));
+    }
+
+    @Test
+    void findBookingsByOwnerIdAndStatus_ShouldUseOwnerStatusStartIndex() {
+        assertThat(explain(() -> bookingStorage.findBookingsByOwnerIdAndStatus(1L, BookingStatus.WAITING, PAGE)),
+                usesIndex("IDX_BOOKINGS_OWNER_STATUS_START"));
+    }
+
+    @Test
+    void findAllByItemOwnerIdBeforeCursor_ShouldUseOwnerForeignKeyIndex() {
+        assertThat(explain(() -> bookingStorage.findAllByItemOwnerIdBeforeCursor(1L, NOW, 100L, PAGE)),
+                usesIndex(foreignKeyIndex("ITEM_OWNER_ID")));
+    }
+
+    private static Matcher<String> usesIndex(String index) {
+        return matchesPattern("(?s).*\"PUBLIC\"\\.\"BOOKINGS\" \"\\w+\"\\s+/\\* PUBLIC\\." + index + ":.*");
+    }
+
+    /**
+     * H2 gives every foreign key its own single-column index unless an index on exactly that column exists, and
+     * its planner prefers that narrower index over a composite one when the query filters on the column alone.
+     * PostgreSQL creates no such index and serves those listings from the start index.
+     */
+    private String foreignKeyIndex(String column) {
+        return jdbcTemplate.queryForObject("SELECT c.INDEX_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS c " +
+                "JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = c.CONSTRAINT_SCHEMA " +
+                "AND k.CONSTRAINT_NAME = c.CONSTRAINT_NAME " +
+                "WHERE c.TABLE_NAME = 'BOOKINGS' AND c.CONSTRAINT_TYPE = 'FOREIGN KEY' AND k.COLUMN_NAME = ?",
+                String.class, column);
+    }
+
+    /**
+     * Runs the repository call, takes the single statement Hibernate prepared for it and returns the H2 plan of
+     * that statement with every parameter bound to a sample value of its type.
+     */
+    private String explain(Runnable query) {
+        statementCapture.start();
+        query.run();
+        final List<String> statements = statementCapture.stop();
+        assertThat(statements, hasSize(1));
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + statements.get(0))) {
+                bindSampleValues(statement);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void bindSampleValues(PreparedStatement statement) throws SQLException {
+        final ParameterMetaData metaData = statement.getParameterMetaData();
+        for (int i = 1; i <= metaData.getParameterCount(); i++) {
+            switch (metaData.getParameterType(i)) {
+                case Types.TIMESTAMP:
+                    statement.setTimestamp(i, Timestamp.valueOf(NOW));
+                    break;
+                case Types.VARCHAR:
+                case Types.CHAR:
+                    statement.setString(i, BookingStatus.WAITING.name());
+                    break;
+                default:
+                    statement.setLong(i, 1L);
+            }
+        }
+    }
+
+    static class StatementCapture implements StatementInspector {
+
+        private List<String> statements;
+
+        void start() {
+            statements = new ArrayList<>();
+        }
+
+        List<String> stop() {
+            final List<String> captured = statements;
+            statements = null;
+            return captured;
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        StatementCapture statementCapture() {
+            return new StatementCapture();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementCaptureCustomizer(StatementCapture statementCapture) {
+            return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    statementCapture);
+        }
+    }
+}
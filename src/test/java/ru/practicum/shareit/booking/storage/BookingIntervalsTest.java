@@ -0,0 +1,96 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class BookingIntervalsTest {
+
+    @Test
+    void overlaps_EmptySet_ShouldReturnFalse() {
+        assertThat(BookingIntervals.EMPTY.overlaps(0, 10), is(false));
+    }
+
+    @Test
+    void overlaps_AdjacentIntervals_ShouldReturnFalse() {
+        BookingIntervals intervals = BookingIntervals.of(new long[]{10, 30}, new long[]{20, 40});
+
+        assertThat(intervals.overlaps(20, 30), is(false));
+        assertThat(intervals.overlaps(0, 10), is(false));
+        assertThat(intervals.overlaps(40, 50), is(false));
+    }
+
+    @Test
+    void overlaps_PartialAndContainedIntervals_ShouldReturnTrue() {
+        BookingIntervals intervals = BookingIntervals.of(new long[]{30, 10}, new long[]{40, 20});
+
+        assertThat(intervals.overlaps(15, 25), is(true));
+        assertThat(intervals.overlaps(5, 11), is(true));
+        assertThat(intervals.overlaps(32, 35), is(true));
+        assertThat(intervals.overlaps(0, 100), is(true));
+    }
+
+    @Test
+    void overlaps_LongIntervalBeforeShortOnes_ShouldUseRunningMaximumOfEnds() {
+        BookingIntervals intervals = BookingIntervals.of(new long[]{0, 10, 20}, new long[]{1000, 15, 25});
+
+        assertThat(intervals.overlaps(500, 600), is(true));
+        assertThat(intervals.overlaps(1000, 1100), is(false));
+    }
+
+    @Test
+    void with_ShouldKeepOriginalUnchangedAndFindAddedInterval() {
+        BookingIntervals intervals = BookingIntervals.of(new long[]{10}, new long[]{20});
+
+        BookingIntervals extended = intervals.with(0, 5).with(50, 60);
+
+        assertThat(intervals.size(), is(1));
+        assertThat(intervals.overlaps(2, 3), is(false));
+        assertThat(extended.size(), is(3));
+        assertThat(extended.overlaps(2, 3), is(true));
+        assertThat(extended.overlaps(55, 70), is(true));
+        assertThat(extended.overlaps(25, 45), is(false));
+    }
+
+    @Test
+    void overlapping_ShouldReturnOnlyIntervalsTouchingRangeOrderedByStart() {
+        BookingIntervals intervals = BookingIntervals.of(new long[]{40, 0, 10, 20, 70},
+                new long[]{50, 5, 15, 60, 80});
+
+        String overlapping = intervals.overlapping(12, 45).stream()
+                .map(interval -> interval[0] + "-" + interval[1])
+                .collect(Collectors.joining(" "));
+
+        assertThat(overlapping, is("10-15 20-60 40-50"));
+        assertThat(intervals.overlapping(60, 70).isEmpty(), is(true));
+    }
+
+    @Test
+    void overlaps_RandomIntervals_ShouldMatchLinearScan() {
+        Random random = new Random(7);
+        long[] starts = new long[200];
+        long[] ends = new long[200];
+        BookingIntervals added = BookingIntervals.EMPTY;
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = random.nextInt(10_000);
+            ends[i] = starts[i] + 1 + random.nextInt(100);
+            added = added.with(starts[i], ends[i]);
+        }
+        BookingIntervals built = BookingIntervals.of(starts, ends);
+
+        for (int q = 0; q < 1_000; q++) {
+            long start = random.nextInt(10_100);
+            long end = start + 1 + random.nextInt(50);
+            boolean expected = false;
+            for (int i = 0; i < starts.length; i++) {
+                expected |= starts[i] < end && start < ends[i];
+            }
+            assertThat(built.overlaps(start, end), is(expected));
+            assertThat(added.overlaps(start, end), is(expected));
+        }
+    }
+}
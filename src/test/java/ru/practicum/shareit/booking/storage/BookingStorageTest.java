@@ -8,6 +8,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import ru.practicum.shareit.booking.dto.BookingPeriod;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.item.model.Item;
@@ -16,8 +18,11 @@ import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static java.time.LocalDateTime.now;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -38,6 +43,9 @@ class BookingStorageTest {
     @Autowired
     private UserStorage userStorage;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Item savedItem1;
 
     private Item savedItem2;
@@ -70,6 +78,7 @@ class BookingStorageTest {
 
         Booking booking1 = createBooking(1L);
         booking1.setItem(savedItem1);
+        booking1.setItemOwnerId(savedUser1.getId());
         booking1.setBooker(savedUser2);
         booking1.setStart(now().minusDays(5));
         booking1.setEnd(now().minusDays(1));
@@ -77,12 +86,14 @@ class BookingStorageTest {
 
         Booking booking2 = createBooking(2L);
         booking2.setItem(savedItem1);
+        booking2.setItemOwnerId(savedUser1.getId());
         booking2.setBooker(savedUser2);
         booking2.setStart(now().minusDays(1));
         savedBooking2 = bookingStorage.save(booking2);
 
         Booking booking3 = createBooking(3L);
         booking3.setItem(savedItem2);
+        booking3.setItemOwnerId(savedUser1.getId());
         booking3.setBooker(savedUser1);
         savedBooking3 = bookingStorage.save(booking3);
         pageRequest = OffsetPageRequest.of(0L, 1);
@@ -116,20 +127,98 @@ class BookingStorageTest {
     }
 
     @Test
-    void findAllByItemId_ShouldReturnListOfBookings() {
-        List<Booking> bookings = bookingStorage.findAllByItemId(savedItem1.getId());
+    void findItemIdById_ShouldReturnItemIdOrEmpty() {
+        assertThat(bookingStorage.findItemIdById(savedBooking3.getId()), is(Optional.of(savedItem2.getId())));
+        assertTrue(bookingStorage.findItemIdById(999L).isEmpty());
+    }
 
-        assertThat(bookings, notNullValue());
-        assertThat(bookings, is(List.of(savedBooking1, savedBooking2)));
+    @Test
+    void findItemIdsByIdInAndItemOwnerId_ShouldReturnDistinctItemIdsOfOwnedBookings() {
+        List<Long> bookingIds = List.of(savedBooking1.getId(), savedBooking2.getId(), savedBooking3.getId(), 999L);
+
+        assertThat(bookingStorage.findItemIdsByIdInAndItemOwnerId(bookingIds, savedUser1.getId()),
+                is(Set.of(savedItem1.getId(), savedItem2.getId())));
+        assertThat(bookingStorage.findItemIdsByIdInAndItemOwnerId(bookingIds, savedUser2.getId()), emptyIterable());
     }
 
     @Test
-    void findAllByItemId_NoBookings_ShouldReturnEmptyList() {
+    void findAllByItemIdAndStatus_ShouldReturnPeriodsOfApprovedBookingsOfItem() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 12, 0);
+        bookingStorage.save(createApprovedBooking(start, start.plusDays(1)));
 
-        List<Booking> bookings = bookingStorage.findAllByItemId(999L);
+        List<BookingPeriod> periods = bookingStorage.findAllByItemIdAndStatus(savedItem1.getId(),
+                BookingStatus.APPROVED);
 
-        assertThat(bookings, notNullValue());
-        assertThat(bookings, emptyIterable());
+        assertThat(periods.size(), is(1));
+        assertThat(periods.get(0).getStart(), is(start));
+        assertThat(periods.get(0).getEnd(), is(start.plusDays(1)));
+    }
+
+    @Test
+    void findAllBookingsByIdIn_ShouldReturnRequestedBookingsWithItemAndBooker() {
+        List<Booking> bookings = bookingStorage.findAllBookingsByIdIn(
+                List.of(savedBooking1.getId(), savedBooking3.getId(), 999L));
+
+        assertThat(bookings, containsInAnyOrder(savedBooking1, savedBooking3));
+        assertThat(bookings.stream().map(Booking::getBooker).collect(Collectors.toList()),
+                containsInAnyOrder(savedUser2, savedUser1));
+    }
+
+    @Test
+    void updateStatusByIdIn_ShouldUpdateOnlyBookingsInCurrentStatus() {
+        Booking approved = bookingStorage.save(createApprovedBooking(now().plusDays(1), now().plusDays(2)));
+
+        int updated = bookingStorage.updateStatusByIdIn(
+                List.of(savedBooking2.getId(), savedBooking3.getId(), approved.getId()),
+                BookingStatus.REJECTED, BookingStatus.WAITING);
+
+        assertThat(updated, is(2));
+        assertThat(bookingStorage.findById(savedBooking2.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.REJECTED));
+        assertThat(bookingStorage.findById(savedBooking3.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.REJECTED));
+        assertThat(bookingStorage.findById(approved.getId()).orElseThrow().getStatus(),
+                is(BookingStatus.APPROVED));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatusAndStartBefore_ShouldReturnApprovedBookingWithLatestEnd() {
+        Booking past = bookingStorage.save(createApprovedBooking(now().minusDays(10), now().minusDays(8)));
+        Booking current = bookingStorage.save(createApprovedBooking(now().minusDays(7), now().plusDays(1)));
+        bookingStorage.save(createApprovedBooking(now().plusDays(2), now().plusDays(3)));
+
+        Optional<Booking> lastBooking = bookingStorage.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(
+                savedItem1.getId(), BookingStatus.APPROVED, now());
+
+        assertTrue(lastBooking.isPresent());
+        assertThat(lastBooking.get(), is(current));
+        assertThat(lastBooking.get(), not(past));
+        assertThat(lastBooking.get().getBooker(), is(savedUser2));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatusAndStartAfter_ShouldReturnClosestApprovedBooking() {
+        bookingStorage.save(createApprovedBooking(now().minusDays(3), now().minusDays(2)));
+        Booking closest = bookingStorage.save(createApprovedBooking(now().plusDays(2), now().plusDays(3)));
+        bookingStorage.save(createApprovedBooking(now().plusDays(4), now().plusDays(5)));
+
+        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(
+                savedItem1.getId(), BookingStatus.APPROVED, now());
+
+        assertTrue(nextBooking.isPresent());
+        assertThat(nextBooking.get(), is(closest));
+        assertThat(nextBooking.get().getBooker(), is(savedUser2));
+    }
+
+    @Test
+    void findFirstByItemIdAndStatus_WhenNoApprovedBookings_ShouldReturnEmptyOptional() {
+        Optional<Booking> lastBooking = bookingStorage.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(
+                savedItem1.getId(), BookingStatus.APPROVED, now());
+        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(
+                savedItem1.getId(), BookingStatus.APPROVED, now());
+
+        assertTrue(lastBooking.isEmpty());
+        assertTrue(nextBooking.isEmpty());
     }
 
     @Test
@@ -149,24 +238,74 @@ class BookingStorageTest {
     }
 
     @Test
-    void findAllByItemIdIn_ShouldReturnListOfBookings() {
-        List<Booking> bookings = bookingStorage.findAllByItemIdIn(List.of(savedItem1.getId(), savedItem2.getId()));
+    void findLastAndNextApprovedBookingsByItemIdIn_ShouldReturnOneLastAndOneNextBookingPerItem() {
+        Booking past = bookingStorage.save(createApprovedBooking(now().minusDays(10), now().minusDays(8)));
+        Booking current = bookingStorage.save(createApprovedBooking(now().minusDays(7), now().plusDays(1)));
+        Booking closest = bookingStorage.save(createApprovedBooking(now().plusDays(2), now().plusDays(3)));
+        Booking later = bookingStorage.save(createApprovedBooking(now().plusDays(4), now().plusDays(5)));
+        Booking otherItemNext = createApprovedBooking(now().plusDays(1), now().plusDays(2));
+        otherItemNext.setItem(savedItem2);
+        otherItemNext = bookingStorage.save(otherItemNext);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> bookings = bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(
+                List.of(savedItem1.getId(), savedItem2.getId()), now());
+
+        assertThat(bookings, containsInAnyOrder(current, closest, otherItemNext));
+        assertThat(bookings, not(hasItem(past)));
+        assertThat(bookings, not(hasItem(later)));
+    }
 
-        assertThat(bookings, notNullValue());
-        assertThat(bookings, is(List.of(savedBooking1, savedBooking2, savedBooking3)));
+    @Test
+    void findLastAndNextApprovedBookingsByItemIdIn_WhenPersistenceContextCleared_ShouldHydrateBookings() {
+        Booking next = bookingStorage.save(createApprovedBooking(now().plusDays(2), now().plusDays(3)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> bookings = bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(
+                List.of(savedItem1.getId()), now());
+
+        assertThat(bookings, is(List.of(next)));
+        assertThat(bookings.get(0).getVersion(), is(0L));
+        assertThat(bookings.get(0).getStatus(), is(BookingStatus.APPROVED));
+        assertThat(bookings.get(0).getItem().getId(), is(savedItem1.getId()));
+    }
+
+    @Test
+    void findLastAndNextApprovedBookingsByItemIdIn_WithTiedTimes_ShouldPickSameBookingsAsSingleItemQueries() {
+        LocalDateTime now = now();
+        bookingStorage.save(createApprovedBooking(now.minusDays(5), now.minusDays(2)));
+        Booking lastTied = bookingStorage.save(createApprovedBooking(now.minusDays(4), now.minusDays(2)));
+        Booking nextTied = bookingStorage.save(createApprovedBooking(now.plusDays(2), now.plusDays(3)));
+        bookingStorage.save(createApprovedBooking(now.plusDays(2), now.plusDays(4)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Booking> bookings = bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(
+                List.of(savedItem1.getId()), now);
+        Optional<Booking> lastBooking = bookingStorage.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(
+                savedItem1.getId(), BookingStatus.APPROVED, now);
+        Optional<Booking> nextBooking = bookingStorage.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(
+                savedItem1.getId(), BookingStatus.APPROVED, now);
+
+        assertThat(bookings, containsInAnyOrder(lastTied, nextTied));
+        assertThat(lastBooking.orElseThrow(), is(lastTied));
+        assertThat(nextBooking.orElseThrow(), is(nextTied));
     }
 
     @Test
-    void findAllByItemIdIn_UnknownId_ShouldReturnEmptyList() {
-        List<Booking> bookings = bookingStorage.findAllByItemIdIn(List.of(savedItem1.getId(), savedItem2.getId()));
+    void findLastAndNextApprovedBookingsByItemIdIn_WhenNoApprovedBookings_ShouldReturnEmptyList() {
+        List<Booking> bookings = bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(
+                List.of(savedItem1.getId(), savedItem2.getId()), now());
 
         assertThat(bookings, notNullValue());
-        assertThat(bookings, is(List.of(savedBooking1, savedBooking2, savedBooking3)));
+        assertThat(bookings, emptyIterable());
     }
 
     @Test
     void findAllByItemOwnerId_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerId(savedUser1.getId(), pageRequest);
+        List<Booking> bookings = bookingStorage.findAllByItemOwnerId(savedUser1.getId(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking3)));
@@ -174,7 +313,7 @@ class BookingStorageTest {
 
     @Test
     void findAllByItemOwnerId_OwnerNotFoundWithPageable_ShouldReturnEmptyList() {
-        List<Booking> bookings = bookingStorage.findAllByItemOwnerId(999L, pageRequest);
+        List<Booking> bookings = bookingStorage.findAllByItemOwnerId(999L, pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, emptyIterable());
@@ -183,7 +322,7 @@ class BookingStorageTest {
     @Test
     void findCurrentBookingsByOwnerId_ShouldReturnListOfBookingWhereStartIsBeforeNowAndEndAfterNowWithPageable() {
         List<Booking> bookings = bookingStorage.findCurrentBookingsByOwnerId(savedUser1.getId(), now(), now(),
-                pageRequest);
+                pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking2)));
@@ -191,7 +330,7 @@ class BookingStorageTest {
 
     @Test
     void findPastBookingsByOwnerId_ShouldReturnListOfBookingWhereEndBeforeNowWithPageable() {
-        List<Booking> bookings = bookingStorage.findPastBookingsByOwnerId(savedUser1.getId(), now(), pageRequest);
+        List<Booking> bookings = bookingStorage.findPastBookingsByOwnerId(savedUser1.getId(), now(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking1)));
@@ -199,7 +338,7 @@ class BookingStorageTest {
 
     @Test
     void findFutureBookingsByOwnerId_ShouldReturnBookingWhereStartIsAfterNowWithPageable() {
-        List<Booking> bookings = bookingStorage.findFutureBookingsByOwnerId(savedUser1.getId(), now(), pageRequest);
+        List<Booking> bookings = bookingStorage.findFutureBookingsByOwnerId(savedUser1.getId(), now(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking3)));
@@ -208,7 +347,7 @@ class BookingStorageTest {
     @Test
     void findBookingsByOwnerIdAndStatus_ShouldReturnListOfBookingWithStatusWaitingWithPageable() {
         List<Booking> bookings = bookingStorage.findBookingsByOwnerIdAndStatus(savedUser1.getId(), BookingStatus.WAITING,
-                pageRequest);
+                pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking3)));
@@ -216,7 +355,7 @@ class BookingStorageTest {
 
     @Test
     void findAllByBookerId_WithPageable_ShouldReturnListOfBookingsOrderByStartDesc() {
-        List<Booking> bookings = bookingStorage.findAllByBookerId(savedUser2.getId(), pageRequest);
+        List<Booking> bookings = bookingStorage.findAllByBookerId(savedUser2.getId(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking2)));
@@ -225,7 +364,7 @@ class BookingStorageTest {
     @Test
     void findCurrentBookingsByBookerId_ShouldReturnListOfBookingWhereStartIsBeforeNowAndEndAfterNowWithPageable() {
         List<Booking> bookings = bookingStorage.findCurrentBookingsByBookerId(savedUser2.getId(), now(), now(),
-                pageRequest);
+                pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking2)));
@@ -233,7 +372,7 @@ class BookingStorageTest {
 
     @Test
     void findPastBookingsByBookerId_ShouldReturnListOfBookingWhereEndBeforeNowWithPageable() {
-        List<Booking> bookings = bookingStorage.findPastBookingsByBookerId(savedUser2.getId(), now(), pageRequest);
+        List<Booking> bookings = bookingStorage.findPastBookingsByBookerId(savedUser2.getId(), now(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking1)));
@@ -241,7 +380,7 @@ class BookingStorageTest {
 
     @Test
     void findFutureBookingsByBookerId_ShouldReturnBookingWhereStartIsAfterNowWithPageable() {
-        List<Booking> bookings = bookingStorage.findFutureBookingsByOwnerId(savedUser1.getId(), now(), pageRequest);
+        List<Booking> bookings = bookingStorage.findFutureBookingsByOwnerId(savedUser1.getId(), now(), pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking3)));
@@ -250,12 +389,43 @@ class BookingStorageTest {
     @Test
     void findBookingsByBookerIdAndStatus_ShouldReturnListOfBookingWithStatusWaitingWithPageable() {
         List<Booking> bookings = bookingStorage.findBookingsByBookerIdAndStatus(savedUser1.getId(), BookingStatus.WAITING,
-                pageRequest);
+                pageRequest).getContent();
 
         assertThat(bookings, notNullValue());
         assertThat(bookings, is(List.of(savedBooking3)));
     }
 
+    @Test
+    void findAllByItemOwnerIdBeforeCursor_ShouldReturnBookingsAfterCursorPosition() {
+        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdBeforeCursor(savedUser1.getId(),
+                storedStart(savedBooking3), savedBooking3.getId(), OffsetPageRequest.of(0L, 10)).getContent();
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings, is(List.of(savedBooking2, savedBooking1)));
+    }
+
+    @Test
+    void findAllByItemOwnerIdBeforeCursor_SameStart_ShouldUseIdAsTieBreaker() {
+        List<Booking> bookings = bookingStorage.findAllByItemOwnerIdBeforeCursor(savedUser1.getId(),
+                storedStart(savedBooking2), savedBooking2.getId() + 1, pageRequest).getContent();
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings, is(List.of(savedBooking2)));
+    }
+
+    @Test
+    void findPastBookingsByBookerIdBeforeCursor_CursorAtLastBooking_ShouldReturnEmptyList() {
+        List<Booking> bookings = bookingStorage.findPastBookingsByBookerIdBeforeCursor(savedUser2.getId(), now(),
+                storedStart(savedBooking1), savedBooking1.getId(), pageRequest).getContent();
+
+        assertThat(bookings, notNullValue());
+        assertThat(bookings, emptyIterable());
+    }
+
+    private LocalDateTime storedStart(Booking booking) {
+        return bookingStorage.findById(booking.getId()).orElseThrow().getStart();
+    }
+
     private Item createItem(Long id) {
         return Item.builder()
                 .name("name" + id)
@@ -271,6 +441,17 @@ class BookingStorageTest {
                 .build();
     }
 
+    private Booking createApprovedBooking(LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .status(BookingStatus.APPROVED)
+                .item(savedItem1)
+                .itemOwnerId(savedUser1.getId())
+                .booker(savedUser2)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
     private Booking createBooking(Long id) {
         return Booking.builder()
                 .status(BookingStatus.WAITING)
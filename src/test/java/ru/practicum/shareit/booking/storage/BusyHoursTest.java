@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class BusyHoursTest {
+
+    @Test
+    void freeRanges_NoBookings_ShouldReturnWholeWindow() {
+        assertThat(ranges(5, 10, List.of()), is("5-10"));
+    }
+
+    @Test
+    void freeRanges_ShouldSkipBusyHoursAndClipToWindow() {
+        List<long[]> busy = List.of(new long[]{100, 105}, new long[]{110, 112});
+
+        assertThat(ranges(90, 120, busy), is("90-100 105-110 112-120"));
+        assertThat(ranges(102, 111, busy), is("105-110"));
+        assertThat(ranges(100, 105, busy), is(""));
+        assertThat(ranges(0, 50, busy), is("0-50"));
+        assertThat(ranges(200, 210, busy), is("200-210"));
+    }
+
+    @Test
+    void freeRanges_WhenBookingsReachFarBeyondWindow_ShouldOnlyMarkWindowHours() {
+        List<long[]> busy = List.of(new long[]{Long.MIN_VALUE / 2, 1_000_002}, new long[]{1_000_004, Long.MAX_VALUE});
+
+        assertThat(ranges(1_000_000, 1_000_006, busy), is("1000002-1000004"));
+    }
+
+    @Test
+    void freeRanges_RandomBookings_ShouldMatchHourByHourScan() {
+        Random random = new Random(7);
+        boolean[] busy = new boolean[500];
+        List<long[]> busyRanges = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            int start = random.nextInt(480);
+            int end = start + 1 + random.nextInt(20);
+            busyRanges.add(new long[]{start, end});
+            for (int hour = start; hour < end; hour++) {
+                busy[hour] = true;
+            }
+        }
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(500);
+            int to = from + random.nextInt(500 - from + 1);
+            StringBuilder expected = new StringBuilder();
+            int hour = from;
+            while (hour < to) {
+                if (busy[hour]) {
+                    hour++;
+                    continue;
+                }
+                int freeEnd = hour;
+                while (freeEnd < to && !busy[freeEnd]) {
+                    freeEnd++;
+                }
+                expected.append(expected.length() == 0 ? "" : " ").append(hour).append('-').append(freeEnd);
+                hour = freeEnd;
+            }
+            assertThat(ranges(from, to, busyRanges), is(expected.toString()));
+        }
+    }
+
+    private static String ranges(long fromHour, long toHour, List<long[]> busy) {
+        List<long[]> ranges = BusyHours.within(fromHour, toHour, busy).freeRanges();
+        return ranges.stream().map(range -> range[0] + "-" + range[1]).collect(Collectors.joining(" "));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,7 +15,10 @@ import org.springframework.web.bind.MissingRequestHeaderException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.shared.OffsetPageRequest;
+import ru.practicum.shareit.shared.exception.InvalidPeriodException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
@@ -182,6 +186,61 @@ class ItemControllerTest {
         verify(itemService, never()).findItemById(any(),any());
     }
 
+    @Test
+    @SneakyThrows
+    void getItemAvailability_ShouldReturnStatus200() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(5);
+        ItemAvailabilityDto availabilityDto = ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .available(false)
+                .freeSlots(List.of(new AvailabilitySlotDto(from, from.plusHours(2))))
+                .build();
+        when(itemService.getItemAvailability(userId, itemId, from, to))
+                .thenReturn(availabilityDto);
+
+        mvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(header, userId)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-01T15:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", is((int) itemId)))
+                .andExpect(jsonPath("$.available", is(false)))
+                .andExpect(jsonPath("$.freeSlots[0].start", is("2030-01-01T10:00:00")))
+                .andExpect(jsonPath("$.freeSlots[0].end", is("2030-01-01T12:00:00")));
+
+        verify(itemService, times(1)).getItemAvailability(userId, itemId, from, to);
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_WithoutTo_ShouldReturnStatus400() {
+        mvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(header, userId)
+                        .param("from", "2030-01-01T10:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> assertTrue(
+                        result.getResolvedException() instanceof MissingServletRequestParameterException));
+
+        verify(itemService, never()).getItemAvailability(any(), any(), any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    void getItemAvailability_WhenInvalidPeriod_ShouldReturnStatus400() {
+        when(itemService.getItemAvailability(eq(userId), eq(itemId), any(), any()))
+                .thenThrow(new InvalidPeriodException("Конец периода должен быть позже его начала."));
+
+        mvc.perform(get("/items/{itemId}/availability", itemId)
+                        .header(header, userId)
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-01T09:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.errorMessage", is("Конец периода должен быть позже его начала.")));
+    }
+
     @Test
     @SneakyThrows
     void getAllItemsByUserId_WithoutParams_ShouldReturnStatus200() {
@@ -189,7 +248,7 @@ class ItemControllerTest {
         int size = 10;
         GetItemDto getItemDto = new GetItemDto();
         when(itemService.findAllItemsByUserId(userId, from, size))
-                .thenReturn(List.of(getItemDto));
+                .thenReturn(new SliceImpl<>(List.of(getItemDto)));
 
         mvc.perform(get("/items")
                         .header(header, userId))
@@ -209,7 +268,7 @@ class ItemControllerTest {
         int size = 5;
         GetItemDto getItemDto = new GetItemDto();
         when(itemService.findAllItemsByUserId(userId, from, size))
-                .thenReturn(List.of(getItemDto));
+                .thenReturn(new SliceImpl<>(List.of(getItemDto)));
 
         mvc.perform(get("/items")
                         .header(header, userId)
@@ -224,6 +283,24 @@ class ItemControllerTest {
         verify(itemService, times(1)).findAllItemsByUserId(userId, from, size);
     }
 
+    @Test
+    @SneakyThrows
+    void getAllItemsByUserId_WithMoreItems_ShouldReturnHasMoreHeader() {
+        long from = 0;
+        int size = 1;
+        GetItemDto getItemDto = new GetItemDto();
+        when(itemService.findAllItemsByUserId(userId, from, size))
+                .thenReturn(new SliceImpl<>(List.of(getItemDto), OffsetPageRequest.of(from, size), true));
+
+        mvc.perform(get("/items")
+                        .header(header, userId)
+                        .param("from", String.valueOf(from))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-More", "true"))
+                .andExpect(content().string(objectMapper.writeValueAsString(List.of(getItemDto))));
+    }
+
     @Test
     @SneakyThrows
     void getAllItemsByUserId_WithoutHeader_ShouldThrowMissingRequestHeaderExceptionAndStatus400() {
@@ -231,7 +308,7 @@ class ItemControllerTest {
         int size = 4;
         GetItemDto getItemDto = new GetItemDto();
         when(itemService.findAllItemsByUserId(userId, from, size))
-                .thenReturn(List.of(getItemDto));
+                .thenReturn(new SliceImpl<>(List.of(getItemDto)));
 
         mvc.perform(get("/items"))
                 .andExpect(status().isBadRequest())
@@ -246,19 +323,20 @@ class ItemControllerTest {
         String text = "search";
         long from = 0;
         int size = 10;
-        when(itemService.searchItems(text, from, size))
-                .thenReturn(List.of(itemDto));
+        when(itemService.searchItems(text, null, null, from, size))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
         mvc.perform(get("/items/search")
                         .header(header, userId)
                         .param("text", text))
                 .andExpect(status().isOk())
+                .andExpect(header().string("X-Has-More", "false"))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string(objectMapper.writeValueAsString(List.of(itemDto))))
                 .andExpect(jsonPath("$.[0].name", is(itemDto.getName())))
                 .andExpect(jsonPath("$.[0].available", is(itemDto.getAvailable())));
 
-        verify(itemService, times(1)).searchItems(text, from, size);
+        verify(itemService, times(1)).searchItems(text, null, null, from, size);
     }
 
     @Test
@@ -267,8 +345,8 @@ class ItemControllerTest {
         String text = "search";
         long from = 1;
         int size = 5;
-        when(itemService.searchItems(text, from, size))
-                .thenReturn(List.of(itemDto));
+        when(itemService.searchItems(text, null, null, from, size))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
         mvc.perform(get("/items/search")
                         .header(header, userId)
@@ -281,7 +359,43 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.[0].name", is(itemDto.getName())))
                 .andExpect(jsonPath("$.[0].available", is(itemDto.getAvailable())));
 
-        verify(itemService, times(1)).searchItems(text, from, size);
+        verify(itemService, times(1)).searchItems(text, null, null, from, size);
+    }
+
+    @Test
+    @SneakyThrows
+    void searchItems_WithPeriod_ShouldPassPeriodToServiceAndReturnStatus200() {
+        String text = "drill";
+        long from = 0;
+        int size = 10;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+        LocalDateTime end = LocalDateTime.of(2030, 1, 5, 18, 0);
+        when(itemService.searchItems(text, start, end, from, size))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
+
+        mvc.perform(get("/items/search")
+                        .header(header, userId)
+                        .param("text", text)
+                        .param("start", "2030-01-05T09:00:00")
+                        .param("end", "2030-01-05T18:00:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].name", is(itemDto.getName())));
+
+        verify(itemService, times(1)).searchItems(text, start, end, from, size);
+    }
+
+    @Test
+    @SneakyThrows
+    void searchItems_WhenInvalidPeriod_ShouldReturnStatus400() {
+        when(itemService.searchItems(eq("drill"), any(), eq(null), eq(0L), eq(10)))
+                .thenThrow(new InvalidPeriodException("Начало и конец периода должны быть указаны вместе."));
+
+        mvc.perform(get("/items/search")
+                        .header(header, userId)
+                        .param("text", "drill")
+                        .param("start", "2030-01-05T09:00:00"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.errorMessage", is("Начало и конец периода должны быть указаны вместе.")));
     }
 
     @Test
@@ -290,15 +404,15 @@ class ItemControllerTest {
         long from = 0;
         int size = 10;
         String text = "search";
-        when(itemService.searchItems(text, from, size))
-                .thenReturn(List.of(itemDto));
+        when(itemService.searchItems(text, null, null, from, size))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
         mvc.perform(get("/items/search")
                         .param("text", text))
                 .andExpect(status().isBadRequest())
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof MissingRequestHeaderException));
 
-        verify(itemService, never()).searchItems(any(), any(), any());
+        verify(itemService, never()).searchItems(any(), any(), any(), any(), any());
     }
 
     @Test
@@ -307,8 +421,8 @@ class ItemControllerTest {
         long from = 0;
         int size = 10;
         String text = "search";
-        when(itemService.searchItems(text, from, size))
-                .thenReturn(List.of(itemDto));
+        when(itemService.searchItems(text, null, null, from, size))
+                .thenReturn(new SliceImpl<>(List.of(itemDto)));
 
         mvc.perform(get("/items/search")
                         .header(header, userId))
@@ -316,7 +430,7 @@ class ItemControllerTest {
                 .andExpect(result -> assertTrue(result.getResolvedException() instanceof
                         MissingServletRequestParameterException));
 
-        verify(itemService, never()).searchItems(any(), any(), any());
+        verify(itemService, never()).searchItems(any(), any(), any(), any(), any());
     }
 
     @Test
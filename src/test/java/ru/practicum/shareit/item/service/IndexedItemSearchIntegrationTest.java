@@ -0,0 +1,71 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.storage.IndexedItemSearch;
+import ru.practicum.shareit.item.storage.ItemSearch;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserStorage;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "shareit.search.engine=index")
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IndexedItemSearchIntegrationTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemSearch itemSearch;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private UserStorage userStorage;
+
+    private User savedUser;
+
+    @BeforeAll
+    void init() {
+        savedUser = userStorage.save(User.builder().name("indexed").email("indexed@email.com").build());
+    }
+
+    @AfterAll
+    void cleanDb() {
+        itemStorage.deleteAll();
+        userStorage.deleteAll();
+    }
+
+    @Test
+    void searchItems_AfterAddAndUpdate_ShouldReflectCommittedChanges() {
+        ItemDto drill = itemService.addItem(savedUser.getId(), ItemDto.builder()
+                .name("Drill").description("Cordless drill").available(true).build());
+        ItemDto saw = itemService.addItem(savedUser.getId(), ItemDto.builder()
+                .name("Saw").description("Hand saw").available(true).build());
+
+        assertThat(itemSearch, instanceOf(IndexedItemSearch.class));
+        assertThat(itemService.searchItems("DRILL", null, null, 0L, 10).getContent(), is(List.of(drill)));
+        assertThat(itemService.searchItems("saw", null, null, 0L, 10).getContent(), is(List.of(saw)));
+
+        itemService.updateItem(savedUser.getId(), drill.getId(), ItemUpdateDto.builder().available(false).build());
+
+        assertThat(itemService.searchItems("drill", null, null, 0L, 10).getContent(), emptyIterable());
+    }
+}
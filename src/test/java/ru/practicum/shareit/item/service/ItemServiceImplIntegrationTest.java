@@ -254,6 +254,31 @@ class ItemServiceImplIntegrationTest {
         assertThat(item.getNextBooking(), nullValue());
     }
 
+    @Test
+    void findItemById_AfterCommentAdded_ShouldReturnFreshComments() {
+        ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
+        long itemId = savedItem.getId();
+        setUpBookings(itemId);
+        itemService.findItemById(savedUser2.getId(), itemId);
+
+        CommentDto commentDto = itemService.addCommentToItem(savedUser2.getId(), itemId, new AddCommentDto("comment"));
+        GetItemDto item = itemService.findItemById(savedUser2.getId(), itemId);
+
+        assertThat(item.getComments(), is(List.of(commentDto)));
+    }
+
+    @Test
+    void findItemById_AfterItemUpdated_ShouldReturnFreshItem() {
+        ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
+        long itemId = savedItem.getId();
+        itemService.findItemById(savedUser2.getId(), itemId);
+
+        itemService.updateItem(savedUser1.getId(), itemId, ItemUpdateDto.builder().name("new name").build());
+        GetItemDto item = itemService.findItemById(savedUser2.getId(), itemId);
+
+        assertThat(item.getName(), is("new name"));
+    }
+
     @Test
     void findAllItemsByUserId_ShouldReturnOwnersItemListWithBookings() {
         long from = 0;
@@ -262,7 +287,7 @@ class ItemServiceImplIntegrationTest {
         long itemId = savedItem.getId();
         setUpBookings(itemId);
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -282,7 +307,7 @@ class ItemServiceImplIntegrationTest {
         long itemId = savedItem.getId();
         setUpBookings(itemId);
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(0));
@@ -293,7 +318,7 @@ class ItemServiceImplIntegrationTest {
         long from = 0;
         int size = 4;
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(savedUser1.getId(), from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(0));
@@ -305,7 +330,7 @@ class ItemServiceImplIntegrationTest {
         int size = 10;
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
 
-        List<ItemDto> items = itemService.searchItems("Dto", from, size);
+        List<ItemDto> items = itemService.searchItems("Dto", null, null, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -319,7 +344,7 @@ class ItemServiceImplIntegrationTest {
         int size = 10;
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
 
-        List<ItemDto> items = itemService.searchItems("Dto", from, size);
+        List<ItemDto> items = itemService.searchItems("Dto", null, null, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(0));
@@ -331,7 +356,7 @@ class ItemServiceImplIntegrationTest {
         int size = 10;
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
 
-        List<ItemDto> items = itemService.searchItems("DTO", from, size);
+        List<ItemDto> items = itemService.searchItems("DTO", null, null, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -345,7 +370,7 @@ class ItemServiceImplIntegrationTest {
         int size = 10;
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
 
-        List<ItemDto> items = itemService.searchItems("DEScripTioN", from, size);
+        List<ItemDto> items = itemService.searchItems("DEScripTioN", null, null, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -364,12 +389,29 @@ class ItemServiceImplIntegrationTest {
                 .build();
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), unavailableItemDto);
 
-        List<ItemDto> items = itemService.searchItems("DEScripTioN", from, size);
+        List<ItemDto> items = itemService.searchItems("DEScripTioN", null, null, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(0));
     }
 
+    @Test
+    void searchItems_WithPeriod_ShouldSkipItemsWithOverlappingApprovedBookings() {
+        long from = 0;
+        int size = 10;
+        ItemDto bookedItem = itemService.addItem(savedUser1.getId(), itemDto);
+        ItemDto freeItem = itemService.addItem(savedUser1.getId(), itemDto);
+        setUpBookings(bookedItem.getId());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<ItemDto> busyWindow = itemService.searchItems("dto", start, start.plusDays(1), from, size).getContent();
+        List<ItemDto> freeWindow = itemService.searchItems("dto", start.plusDays(8), start.plusDays(9), from, size)
+                .getContent();
+
+        assertThat(busyWindow, is(List.of(freeItem)));
+        assertThat(freeWindow, is(List.of(bookedItem, freeItem)));
+    }
+
     @Test
     void addCommentToItem_ShouldReturnCommentWithNotNullId() {
         ItemDto savedItem = itemService.addItem(savedUser1.getId(), itemDto);
@@ -414,8 +456,8 @@ class ItemServiceImplIntegrationTest {
         bookingService.acknowledgeBooking(savedUser1.getId(), savedBooking2.getId(), true);
         AddBookingDto addBookingDto3 = AddBookingDto.builder()
                 .itemId(itemId)
-                .start(LocalDateTime.now().plusDays(3))
-                .end(LocalDateTime.now().plusDays(5))
+                .start(LocalDateTime.now().plusDays(5))
+                .end(LocalDateTime.now().plusDays(7))
                 .build();
         savedBooking3 = bookingService.addBooking(savedUser2.getId(), addBookingDto3);
         bookingService.acknowledgeBooking(savedUser1.getId(), savedBooking3.getId(), true);
@@ -7,31 +7,41 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.dto.ShortBookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.ApprovedBookingIndex;
 import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.item.dto.AddCommentDto;
+import ru.practicum.shareit.item.dto.AvailabilitySlotDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemSearch;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.shared.OffsetPageRequest;
+import ru.practicum.shareit.shared.exception.InvalidPeriodException;
 import ru.practicum.shareit.shared.exception.ItemUnavailableException;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -42,7 +52,9 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
@@ -58,7 +70,13 @@ class ItemServiceImplTest {
     private ItemStorage itemStorage;
 
     @Mock
-    private UserStorage userStorage;
+    private ItemSearch itemSearch;
+
+    @Mock
+    private ItemViewCache itemViewCache;
+
+    @Mock
+    private UserCache userCache;
 
     @Mock
     private BookingStorage bookingStorage;
@@ -78,6 +96,12 @@ class ItemServiceImplTest {
     @Mock
     private CommentMapper commentMapper;
 
+    @Spy
+    private RequestClock requestClock = new RequestClock(Clock.systemDefaultZone());
+
+    @Mock
+    private ApprovedBookingIndex approvedBookingIndex;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -172,7 +196,7 @@ class ItemServiceImplTest {
 
     @Test
     void addItem_UserAndRequestFound_ShouldReturnItemDtoWithOwnerAndRequest() {
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         ItemRequest itemRequest = ItemRequest.builder()
                 .requester(requester)
@@ -187,7 +211,7 @@ class ItemServiceImplTest {
 
         itemService.addItem(ownerId, itemDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemRequestStorage, times(1)).findById(requestId);
         verify(itemMapper, times(1)).toModel(itemDto);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
@@ -195,13 +219,14 @@ class ItemServiceImplTest {
         assertThat(captorValue.getOwner(), is(owner));
         assertThat(captorValue.getRequest(), is(itemRequest));
         assertThat(itemRequest.getItems(), is(List.of(captorValue)));
+        verify(itemSearch, times(1)).index(item);
         verify(itemMapper, times(1)).toDto(item);
     }
 
     @Test
     void addItem_RequestIdIsNull_ShouldReturnItemDtoWithOwnerAndWithoutRequest() {
         itemDto.setRequestId(null);
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemMapper.toModel(itemDto))
                 .thenReturn(item);
@@ -210,7 +235,7 @@ class ItemServiceImplTest {
 
         itemService.addItem(ownerId, itemDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemRequestStorage, never()).findById(any());
         verify(itemMapper, times(1)).toModel(itemDto);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
@@ -222,23 +247,24 @@ class ItemServiceImplTest {
 
     @Test
     void addItem_UserNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.addItem(ownerId, itemDto));
         assertThat(e.getMessage(), is("Пользователь с id '" + ownerId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemRequestStorage, never()).findById(any());
         verify(itemMapper, never()).toModel(any());
         verify(itemStorage, never()).save(any());
+        verify(itemSearch, never()).index(any());
         verify(itemMapper, never()).toDto(any());
     }
 
     @Test
     void addItem_RequestNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemRequestStorage.findById(requestId))
                 .thenReturn(Optional.empty());
@@ -249,7 +275,7 @@ class ItemServiceImplTest {
                 () -> itemService.addItem(ownerId, itemDto));
         assertThat(e.getMessage(), is("Запрос с id '" + requestId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemRequestStorage, times(1)).findById(requestId);
         verify(itemMapper, times(1)).toModel(itemDto);
         verify(itemStorage, never()).save(any());
@@ -264,7 +290,7 @@ class ItemServiceImplTest {
                 .available(false)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -273,13 +299,14 @@ class ItemServiceImplTest {
 
         itemService.updateItem(ownerId, itemId, itemUpdateDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
         assertThat(captorValue.getName(), is(itemUpdateDto.getName()));
         assertThat(captorValue.getDescription(), is(itemUpdateDto.getDescription()));
         assertThat(captorValue.getAvailable(), is(itemUpdateDto.getAvailable()));
+        verify(itemSearch, times(1)).index(item);
         verify(itemMapper, times(1)).toDto(item);
     }
 
@@ -291,7 +318,7 @@ class ItemServiceImplTest {
                 .available(false)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -300,7 +327,7 @@ class ItemServiceImplTest {
 
         itemService.updateItem(ownerId, itemId, itemUpdateDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -318,7 +345,7 @@ class ItemServiceImplTest {
                 .available(false)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -327,7 +354,7 @@ class ItemServiceImplTest {
 
         itemService.updateItem(ownerId, itemId, itemUpdateDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -345,7 +372,7 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -354,7 +381,7 @@ class ItemServiceImplTest {
 
         itemService.updateItem(ownerId, itemId, itemUpdateDto);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, times(1)).save(itemArgumentCaptor.capture());
         Item captorValue = itemArgumentCaptor.getValue();
@@ -372,7 +399,7 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -382,7 +409,7 @@ class ItemServiceImplTest {
         assertThat(e.getMessage(), is("У пользователя с id '" + requesterId + "' не найдена вещь с id '" +
                 itemId + "'."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, never()).save(any());
         verify(itemMapper, never()).toDto(any());
@@ -396,14 +423,14 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.updateItem(requesterId, itemId, itemUpdateDto));
         assertThat(e.getMessage(), is("Пользователь с id '" + requesterId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, never()).findById(any());
         verify(itemStorage, never()).save(any());
         verify(itemMapper, never()).toDto(any());
@@ -417,7 +444,7 @@ class ItemServiceImplTest {
                 .available(null)
                 .build();
         item.setOwner(owner);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.empty());
@@ -426,7 +453,7 @@ class ItemServiceImplTest {
                 () -> itemService.updateItem(requesterId, itemId, itemUpdateDto));
         assertThat(e.getMessage(), is("Вещь с id '" + itemId + "' не найдена."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(itemStorage, never()).save(any());
         verify(itemMapper, never()).toDto(any());
@@ -437,65 +464,73 @@ class ItemServiceImplTest {
         booking1.setStatus(BookingStatus.APPROVED);
         booking2.setStatus(BookingStatus.APPROVED);
         booking3.setStatus(BookingStatus.APPROVED);
-        when(userStorage.findById(ownerId))
+        CommentDto commentDto = CommentDto.builder().text("comment").build();
+        GetItemDto cachedItem = new GetItemDto();
+        cachedItem.getComments().add(commentDto);
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
+        when(itemViewCache.findView(itemId))
+                .thenReturn(ItemView.of(ownerId, cachedItem));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
-        when(bookingStorage.findAllByItemId(itemId))
-                .thenReturn(List.of(booking1, booking2, booking3));
-        Comment comment = new Comment();
-        when(commentStorage.findAllByItemId(itemId))
-                .thenReturn(List.of(comment));
+        when(bookingStorage.findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(eq(itemId),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(Optional.of(booking1));
+        when(bookingStorage.findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(itemId),
+                eq(BookingStatus.APPROVED), any()))
+                .thenReturn(Optional.of(booking3));
         ShortBookingDto shortBookingDto = new ShortBookingDto();
         when(bookingMapper.toShortDto(any()))
                 .thenReturn(shortBookingDto);
         when(itemMapper.toGetItemDto(eq(item), any(), any()))
                 .thenReturn(new GetItemDto());
 
-        itemService.findItemById(ownerId, itemId);
+        GetItemDto result = itemService.findItemById(ownerId, itemId);
 
-        verify(userStorage, times(1)).findById(ownerId);
+        assertThat(result.getComments(), is(List.of(commentDto)));
+        verify(userCache, times(1)).findById(ownerId);
+        verify(itemViewCache, times(1)).findView(itemId);
         verify(itemStorage, times(1)).findById(itemId);
-        verify(bookingStorage, times(1)).findAllByItemId(itemId);
-        verify(commentStorage, times(1)).findAllByItemId(itemId);
+        verify(bookingStorage, times(1)).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(eq(itemId),
+                eq(BookingStatus.APPROVED), any());
+        verify(bookingStorage, times(1)).findFirstByItemIdAndStatusAndStartAfterOrderByStartAscIdAsc(eq(itemId),
+                eq(BookingStatus.APPROVED), any());
+        verify(bookingStorage, never()).findLastAndNextApprovedBookingsByItemIdIn(any(), any());
+        verify(commentStorage, never()).findAllByItemId(any());
         verify(itemMapper, times(1)).toGetItemDto(eq(item), any(), any());
         verify(bookingMapper, times(2)).toShortDto(bookingArgumentCaptor.capture());
         List<Booking> bookings = bookingArgumentCaptor.getAllValues();
         assertThat(bookings.size(), is(2));
         assertThat(bookings.get(0), is(booking1));
         assertThat(bookings.get(1), is(booking3));
-        verify(commentMapper, times(1)).toDtoList(List.of(comment));
     }
 
     @Test
-    void findItemById_WhenRequesterIsNotOwner_ShouldReturnItemWithoutBookingDates() {
-        when(userStorage.findById(requesterId))
+    void findItemById_WhenRequesterIsNotOwner_ShouldReturnCachedItemWithoutBookingDates() {
+        CommentDto commentDto = CommentDto.builder().text("comment").build();
+        GetItemDto cachedItem = new GetItemDto(itemId, "name", "description", true, null, null);
+        cachedItem.getComments().add(commentDto);
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
-        when(itemStorage.findById(itemId))
-                .thenReturn(Optional.of(item));
-        when(bookingStorage.findAllByItemId(itemId))
-                .thenReturn(List.of(booking1, booking2, booking3));
-        Comment comment = new Comment();
-        when(commentStorage.findAllByItemId(itemId))
-                .thenReturn(List.of(comment));
-        GetItemDto getItemDto = new GetItemDto();
-        when(itemMapper.toWithBookingsDto(item))
-                .thenReturn(getItemDto);
-
+        when(itemViewCache.findView(itemId))
+                .thenReturn(ItemView.of(ownerId, cachedItem));
 
-        itemService.findItemById(requesterId, itemId);
+        GetItemDto result = itemService.findItemById(requesterId, itemId);
 
-        verify(userStorage, times(1)).findById(requesterId);
-        verify(itemStorage, times(1)).findById(itemId);
-        verify(bookingStorage, times(1)).findAllByItemId(itemId);
-        verify(itemMapper, times(1)).toWithBookingsDto(item);
-        verify(commentStorage, times(1)).findAllByItemId(itemId);
-        verify(commentMapper, times(1)).toDtoList(List.of(comment));
+        assertThat(result, is(cachedItem));
+        assertThat(result, not(sameInstance(cachedItem)));
+        assertThat(result.getLastBooking(), nullValue());
+        assertThat(result.getNextBooking(), nullValue());
+        verify(userCache, times(1)).findById(requesterId);
+        verify(itemViewCache, times(1)).findView(itemId);
+        verify(itemStorage, never()).findById(any());
+        verify(bookingStorage, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(any(), any(), any());
+        verify(commentStorage, never()).findAllByItemId(any());
     }
 
     @Test
     void findItemById_WhenUserNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.empty());
 
 
@@ -503,32 +538,27 @@ class ItemServiceImplTest {
                 () -> itemService.findItemById(requesterId, itemId));
         assertThat(e.getMessage(), is("Пользователь с id '" + requesterId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
+        verify(itemViewCache, never()).findView(any());
         verify(itemStorage, never()).findById(any());
-        verify(bookingStorage, never()).findAllByItemId(any());
-        verify(itemMapper, never()).toWithBookingsDto(any());
-        verify(commentStorage, never()).findAllByItemId(any());
-        verify(commentMapper, never()).toDtoList(any());
+        verify(bookingStorage, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(any(), any(), any());
     }
 
     @Test
     void findItemById_WhenItemNotFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
-        when(itemStorage.findById(itemId))
-                .thenReturn(Optional.empty());
+        when(itemViewCache.findView(itemId))
+                .thenThrow(new NotFoundException("Вещь с id '" + itemId + "' не найдена."));
 
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.findItemById(requesterId, itemId));
         assertThat(e.getMessage(), is("Вещь с id '" + itemId + "' не найдена."));
 
-        verify(userStorage, times(1)).findById(requesterId);
-        verify(itemStorage, times(1)).findById(itemId);
-        verify(bookingStorage, never()).findAllByItemId(any());
-        verify(itemMapper, never()).toWithBookingsDto(any());
-        verify(commentStorage, never()).findAllByItemId(any());
-        verify(commentMapper, never()).toDtoList(any());
+        verify(userCache, times(1)).findById(requesterId);
+        verify(itemViewCache, times(1)).findView(itemId);
+        verify(bookingStorage, never()).findFirstByItemIdAndStatusAndStartBeforeOrderByEndDescIdDesc(any(), any(), any());
     }
 
     @Test
@@ -538,12 +568,12 @@ class ItemServiceImplTest {
         booking1.setStatus(BookingStatus.APPROVED);
         booking2.setStatus(BookingStatus.APPROVED);
         booking3.setStatus(BookingStatus.APPROVED);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findAllByOwnerIdOrderById(eq(requesterId), any()))
-                .thenReturn(List.of(item));
-        when(bookingStorage.findAllByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(booking1, booking2, booking3));
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any()))
+                .thenReturn(List.of(booking1, booking3));
         LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .item(item)
@@ -564,7 +594,7 @@ class ItemServiceImplTest {
         when(itemMapper.toGetItemDto(eq(item), any(), any()))
                 .thenReturn(new GetItemDto());
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -574,13 +604,13 @@ class ItemServiceImplTest {
         assertThat(bookings.size(), is(2));
         assertThat(bookings.get(0), is(booking1));
         assertThat(bookings.get(1), is(booking3));
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingStorage, times(1)).findAllByItemIdIn(List.of(itemId));
+        verify(bookingStorage, times(1)).findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any());
         verify(commentStorage, times(1)).findAllByItemIdIn(List.of(itemId));
         verify(commentMapper, times(1)).toDtoList(List.of(comment));
     }
@@ -591,12 +621,12 @@ class ItemServiceImplTest {
         int size = 4;
         booking1.setStatus(BookingStatus.APPROVED);
         booking2.setStatus(BookingStatus.APPROVED);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findAllByOwnerIdOrderById(eq(requesterId), any()))
-                .thenReturn(List.of(item));
-        when(bookingStorage.findAllByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(booking1, booking2, booking3));
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any()))
+                .thenReturn(List.of(booking1));
         LocalDateTime now = LocalDateTime.now();
         Comment comment = Comment.builder()
                 .item(item)
@@ -617,7 +647,7 @@ class ItemServiceImplTest {
         when(itemMapper.toGetItemDto(eq(item), any(), any()))
                 .thenReturn(new GetItemDto());
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -627,64 +657,13 @@ class ItemServiceImplTest {
         assertThat(bookings.size(), is(2));
         assertThat(bookings.get(0), is(booking1));
         assertThat(bookings.get(1), nullValue());
-        verify(userStorage, times(1)).findById(requesterId);
-        verify(itemStorage, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
-                offsetPageRequestArgumentCaptor.capture());
-        OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
-        assertThat(captorValue.getOffset(), is(from));
-        assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingStorage, times(1)).findAllByItemIdIn(List.of(itemId));
-        verify(commentStorage, times(1)).findAllByItemIdIn(List.of(itemId));
-        verify(commentMapper, times(1)).toDtoList(List.of(comment));
-    }
-
-    @Test
-    void findAllItemsByUserId_WhenBookingsAreNotApproved_ShouldReturnItemsWithNoBookingAndComments() {
-        long from = 1;
-        int size = 4;
-        when(userStorage.findById(requesterId))
-                .thenReturn(Optional.of(requester));
-        when(itemStorage.findAllByOwnerIdOrderById(eq(requesterId), any()))
-                .thenReturn(List.of(item));
-        when(bookingStorage.findAllByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(booking1, booking2, booking3));
-        LocalDateTime now = LocalDateTime.now();
-        Comment comment = Comment.builder()
-                .item(item)
-                .text("comment")
-                .created(now)
-                .build();
-        CommentDto commentDto = CommentDto.builder()
-                .text("dto comment")
-                .authorName("author name")
-                .build();
-        when(commentMapper.toDtoList(List.of(comment)))
-                .thenReturn(List.of(commentDto));
-        when(commentStorage.findAllByItemIdIn(List.of(itemId)))
-                .thenReturn(List.of(comment));
-        ShortBookingDto shortBookingDto = new ShortBookingDto();
-        when(bookingMapper.toShortDto(any()))
-                .thenReturn(shortBookingDto);
-        when(itemMapper.toGetItemDto(eq(item), any(), any()))
-                .thenReturn(new GetItemDto());
-
-        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size);
-
-        assertThat(items, notNullValue());
-        assertThat(items.size(), is(1));
-        assertThat(items.get(0).getComments(), is(List.of(commentDto)));
-        verify(bookingMapper, times(2)).toShortDto(bookingArgumentCaptor.capture());
-        List<Booking> bookings = bookingArgumentCaptor.getAllValues();
-        assertThat(bookings.size(), is(2));
-        assertThat(bookings.get(0), nullValue());
-        assertThat(bookings.get(1), nullValue());
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingStorage, times(1)).findAllByItemIdIn(List.of(itemId));
+        verify(bookingStorage, times(1)).findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any());
         verify(commentStorage, times(1)).findAllByItemIdIn(List.of(itemId));
         verify(commentMapper, times(1)).toDtoList(List.of(comment));
     }
@@ -693,11 +672,11 @@ class ItemServiceImplTest {
     void findAllItemsByUserId_WhenNoBookings_ShouldReturnItemsWithoutBookingAndComments() {
         long from = 1;
         int size = 4;
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findAllByOwnerIdOrderById(eq(requesterId), any()))
-                .thenReturn(List.of(item));
-        when(bookingStorage.findAllByItemIdIn(List.of(itemId)))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+        when(bookingStorage.findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any()))
                 .thenReturn(Collections.emptyList());
         when(commentStorage.findAllByItemIdIn(List.of(itemId)))
                 .thenReturn(Collections.emptyList());
@@ -705,18 +684,18 @@ class ItemServiceImplTest {
         when(itemMapper.toWithBookingsDtoList(List.of(item)))
                 .thenReturn(List.of(getItemDto));
 
-        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size);
+        List<GetItemDto> items = itemService.findAllItemsByUserId(requesterId, from, size).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
         assertThat(items.get(0).getComments(), empty());
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findAllByOwnerIdOrderById(eq(requesterId),
                 offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest captorValue = offsetPageRequestArgumentCaptor.getValue();
         assertThat(captorValue.getOffset(), is(from));
         assertThat(captorValue.getPageSize(), is(size));
-        verify(bookingStorage, times(1)).findAllByItemIdIn(List.of(itemId));
+        verify(bookingStorage, times(1)).findLastAndNextApprovedBookingsByItemIdIn(eq(List.of(itemId)), any());
         verify(commentStorage, times(1)).findAllByItemIdIn(List.of(itemId));
         verify(itemMapper, times(1)).toWithBookingsDtoList(List.of(item));
     }
@@ -725,15 +704,15 @@ class ItemServiceImplTest {
     void findAllItemsByUserId_WhenUserNotFound_ShouldThrowNotFoundException() {
         long from = 1;
         int size = 4;
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.findAllItemsByUserId(requesterId, from, size));
         assertThat(e.getMessage(), is("Пользователь с id '" + requesterId + "' не найден."));
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, never()).findAllByOwnerIdOrderById(any(), any());
-        verify(bookingStorage, never()).findAllByItemIdIn(any());
+        verify(bookingStorage, never()).findLastAndNextApprovedBookingsByItemIdIn(any(), any());
         verify(commentStorage, never()).findAllByItemIdIn(any());
         verify(itemMapper, never()).toWithBookingsDtoList(any());
     }
@@ -743,39 +722,81 @@ class ItemServiceImplTest {
         long from = 1;
         int size = 4;
         String text = "search";
-        when(itemStorage.searchInTitleAndDescription(any(), any()))
-                .thenReturn(List.of(item));
+        when(itemSearch.search(any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
 
-        itemService.searchItems(text, from, size);
+        itemService.searchItems(text, null, null, from, size);
 
-        verify(itemStorage, times(1)).searchInTitleAndDescription(stringArgumentCaptor.capture(),
+        verify(itemSearch, times(1)).search(stringArgumentCaptor.capture(),
                 offsetPageRequestArgumentCaptor.capture());
         String captorValue = stringArgumentCaptor.getValue();
-        assertThat(captorValue, is("%search%"));
+        assertThat(captorValue, is("search"));
         OffsetPageRequest offsetPageRequest = offsetPageRequestArgumentCaptor.getValue();
         assertThat(offsetPageRequest.getOffset(), is(from));
         assertThat(offsetPageRequest.getPageSize(), is(size));
-        verify(itemMapper, times(1)).toDtoList(any());
+        verify(itemMapper, times(1)).toDto(item);
     }
 
     @Test
-    void searchItems_WhenTextUpperCase_ShouldReturnListOfItems() {
+    void searchItems_WhenTextUpperCase_ShouldPassTextToSearch() {
         long from = 1;
         int size = 4;
         String text = "SEArcH";
-        when(itemStorage.searchInTitleAndDescription(any(), any()))
-                .thenReturn(List.of(item));
+        when(itemSearch.search(any(), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
 
-        itemService.searchItems(text, from, size);
+        itemService.searchItems(text, null, null, from, size);
 
-        verify(itemStorage, times(1)).searchInTitleAndDescription(stringArgumentCaptor.capture(),
+        verify(itemSearch, times(1)).search(stringArgumentCaptor.capture(),
                 offsetPageRequestArgumentCaptor.capture());
         String captorValue = stringArgumentCaptor.getValue();
-        assertThat(captorValue, is("%search%"));
+        assertThat(captorValue, is("SEArcH"));
+        OffsetPageRequest offsetPageRequest = offsetPageRequestArgumentCaptor.getValue();
+        assertThat(offsetPageRequest.getOffset(), is(from));
+        assertThat(offsetPageRequest.getPageSize(), is(size));
+        verify(itemMapper, times(1)).toDto(item);
+    }
+
+    @Test
+    void searchItems_WithPeriod_ShouldSearchItemsFreeInPeriod() {
+        long from = 0;
+        int size = 10;
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+        LocalDateTime end = start.plusHours(9);
+        when(itemSearch.search(eq("drill"), eq(start), eq(end), any()))
+                .thenReturn(new SliceImpl<>(List.of(item)));
+
+        itemService.searchItems("drill", start, end, from, size);
+
+        verify(itemSearch, times(1)).search(eq("drill"), eq(start), eq(end),
+                offsetPageRequestArgumentCaptor.capture());
         OffsetPageRequest offsetPageRequest = offsetPageRequestArgumentCaptor.getValue();
         assertThat(offsetPageRequest.getOffset(), is(from));
         assertThat(offsetPageRequest.getPageSize(), is(size));
-        verify(itemMapper, times(1)).toDtoList(any());
+        verify(itemSearch, never()).search(any(), any());
+        verify(itemMapper, times(1)).toDto(item);
+    }
+
+    @Test
+    void searchItems_WhenOnlyStartGiven_ShouldThrowInvalidPeriodException() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+
+        InvalidPeriodException e = assertThrows(InvalidPeriodException.class,
+                () -> itemService.searchItems("drill", start, null, 0L, 10));
+
+        assertThat(e.getMessage(), is("Начало и конец периода должны быть указаны вместе."));
+        verify(itemSearch, never()).search(any(), any(), any(), any());
+    }
+
+    @Test
+    void searchItems_WhenEndBeforeStart_ShouldThrowInvalidPeriodException() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+
+        InvalidPeriodException e = assertThrows(InvalidPeriodException.class,
+                () -> itemService.searchItems("drill", start, start.minusHours(1), 0L, 10));
+
+        assertThat(e.getMessage(), is("Конец периода должен быть позже его начала."));
+        verify(itemSearch, never()).search(any(), any(), any(), any());
     }
 
     @Test
@@ -784,10 +805,10 @@ class ItemServiceImplTest {
         int size = 4;
         String text = "";
 
-        List<ItemDto> items = itemService.searchItems(text, from, size);
+        List<ItemDto> items = itemService.searchItems(text, null, null, from, size).getContent();
 
         assertThat(items, is(Collections.emptyList()));
-        verify(itemStorage, never()).searchInTitleAndDescription(any(), any());
+        verify(itemSearch, never()).search(any(), any());
         verify(itemMapper, never()).toDtoList(any());
     }
 
@@ -797,10 +818,10 @@ class ItemServiceImplTest {
         int size = 4;
         String text = "   ";
 
-        List<ItemDto> items = itemService.searchItems(text, from, size);
+        List<ItemDto> items = itemService.searchItems(text, null, null, from, size).getContent();
 
         assertThat(items, is(Collections.emptyList()));
-        verify(itemStorage, never()).searchInTitleAndDescription(any(), any());
+        verify(itemSearch, never()).search(any(), any());
         verify(itemMapper, never()).toDtoList(any());
     }
 
@@ -810,7 +831,7 @@ class ItemServiceImplTest {
         booking1.setStatus(BookingStatus.APPROVED);
         booking2.setStatus(BookingStatus.APPROVED);
         booking3.setStatus(BookingStatus.APPROVED);
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -821,7 +842,7 @@ class ItemServiceImplTest {
 
         itemService.addCommentToItem(requesterId, itemId, addCommentDto);
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, times(1)).findAllByItemIdAndBookerId(itemId, requesterId);
         verify(commentStorage, times(1)).save(commentArgumentCaptor.capture());
@@ -837,7 +858,7 @@ class ItemServiceImplTest {
     @Test
     void addCommentToItem_WhenUserUnableToAddComments_ShouldThrowItemUnavailableException() {
         AddCommentDto addCommentDto = new AddCommentDto("new comment");
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -849,7 +870,7 @@ class ItemServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с id '" + ownerId + "' не брал в аренду вещь с id '" +
                 itemId + "'."));
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, times(1)).findAllByItemIdAndBookerId(itemId, ownerId);
         verify(commentStorage, never()).save(any());
@@ -859,7 +880,7 @@ class ItemServiceImplTest {
     @Test
     void addCommentToItem_WhenUserIsAbleToAddCommentsButBookingsNotApproved_ShouldThrowItemUnavailableException() {
         AddCommentDto addCommentDto = new AddCommentDto("new comment");
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -871,7 +892,7 @@ class ItemServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с id '" + requesterId + "' не брал в аренду вещь с id '" +
                 itemId + "'."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, times(1)).findAllByItemIdAndBookerId(itemId, requesterId);
         verify(commentStorage, never()).save(any());
@@ -881,7 +902,7 @@ class ItemServiceImplTest {
     @Test
     void addCommentToItem_WhenUserIsAbleToAddCommentsButBookingsHaveNotEnded_ShouldThrowItemUnavailableException() {
         AddCommentDto addCommentDto = new AddCommentDto("new comment");
-        when(userStorage.findById(requesterId))
+        when(userCache.findById(requesterId))
                 .thenReturn(Optional.of(requester));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.of(item));
@@ -893,7 +914,7 @@ class ItemServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с id '" + requesterId + "' не брал в аренду вещь с id '" +
                 itemId + "'."));
 
-        verify(userStorage, times(1)).findById(requesterId);
+        verify(userCache, times(1)).findById(requesterId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, times(1)).findAllByItemIdAndBookerId(itemId, requesterId);
         verify(commentStorage, never()).save(any());
@@ -903,14 +924,14 @@ class ItemServiceImplTest {
     @Test
     void addCommentToItem_WhenUserNotFound_ShouldThrowItemUnavailableException() {
         AddCommentDto addCommentDto = new AddCommentDto("new comment");
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemService.addCommentToItem(ownerId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Пользователь с id '" + ownerId + "' не найден."));
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, never()).findById(any());
         verify(bookingStorage, never()).findAllByItemIdAndBookerId(any(), any());
         verify(commentStorage, never()).save(any());
@@ -920,7 +941,7 @@ class ItemServiceImplTest {
     @Test
     void addCommentToItem_WhenItemNotFound_ShouldThrowItemUnavailableException() {
         AddCommentDto addCommentDto = new AddCommentDto("new comment");
-        when(userStorage.findById(ownerId))
+        when(userCache.findById(ownerId))
                 .thenReturn(Optional.of(owner));
         when(itemStorage.findById(itemId))
                 .thenReturn(Optional.empty());
@@ -929,10 +950,76 @@ class ItemServiceImplTest {
                 () -> itemService.addCommentToItem(ownerId, itemId, addCommentDto));
         assertThat(e.getMessage(), is("Вещь с id '" + itemId + "' не найдена."));
 
-        verify(userStorage, times(1)).findById(ownerId);
+        verify(userCache, times(1)).findById(ownerId);
         verify(itemStorage, times(1)).findById(itemId);
         verify(bookingStorage, never()).findAllByItemIdAndBookerId(any(), any());
         verify(commentStorage, never()).save(any());
         verify(commentMapper, never()).toDto(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getItemAvailability_ShouldReturnFreeSlotsFromIndex() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = from.plusHours(5);
+        List<AvailabilitySlotDto> freeSlots = List.of(new AvailabilitySlotDto(from, from.plusHours(2)));
+        when(userCache.findById(requesterId))
+                .thenReturn(Optional.of(requester));
+        when(itemStorage.existsById(itemId))
+                .thenReturn(true);
+        when(approvedBookingIndex.overlaps(itemId, from, to))
+                .thenReturn(true);
+        when(approvedBookingIndex.findFreeSlots(itemId, from, to))
+                .thenReturn(freeSlots);
+
+        ItemAvailabilityDto result = itemService.getItemAvailability(requesterId, itemId, from, to);
+
+        assertThat(result.getItemId(), is(itemId));
+        assertThat(result.getFrom(), is(from));
+        assertThat(result.getTo(), is(to));
+        assertThat(result.getAvailable(), is(false));
+        assertThat(result.getFreeSlots(), is(freeSlots));
+        verify(bookingStorage, never()).findAllByItemIdAndStatus(any(), any());
+        verify(itemViewCache, never()).findView(any());
+    }
+
+    @Test
+    void getItemAvailability_WhenEndNotAfterStart_ShouldThrowInvalidPeriodException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(userCache.findById(requesterId))
+                .thenReturn(Optional.of(requester));
+
+        InvalidPeriodException e = assertThrows(InvalidPeriodException.class,
+                () -> itemService.getItemAvailability(requesterId, itemId, from, from));
+
+        assertThat(e.getMessage(), is("Конец периода должен быть позже его начала."));
+        verify(approvedBookingIndex, never()).findFreeSlots(any(), any(), any());
+    }
+
+    @Test
+    void getItemAvailability_WhenPeriodTooLong_ShouldThrowInvalidPeriodException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(userCache.findById(requesterId))
+                .thenReturn(Optional.of(requester));
+
+        InvalidPeriodException e = assertThrows(InvalidPeriodException.class,
+                () -> itemService.getItemAvailability(requesterId, itemId, from, from.plusDays(367)));
+
+        assertThat(e.getMessage(), is("Период не может быть длиннее 366 дней."));
+        verify(itemStorage, never()).existsById(any());
+    }
+
+    @Test
+    void getItemAvailability_WhenItemNotFound_ShouldThrowNotFoundException() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        when(userCache.findById(requesterId))
+                .thenReturn(Optional.of(requester));
+        when(itemStorage.existsById(itemId))
+                .thenReturn(false);
+
+        NotFoundException e = assertThrows(NotFoundException.class,
+                () -> itemService.getItemAvailability(requesterId, itemId, from, from.plusDays(1)));
+
+        assertThat(e.getMessage(), is("Вещь с id '" + itemId + "' не найдена."));
+        verify(approvedBookingIndex, never()).findFreeSlots(any(), any(), any());
+    }
+}
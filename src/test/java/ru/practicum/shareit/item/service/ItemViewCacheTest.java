@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.GetItemDto;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.CommentStorage;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemViewCacheTest {
+
+    @Mock
+    private ItemStorage itemStorage;
+
+    @Mock
+    private CommentStorage commentStorage;
+
+    @Mock
+    private ItemMapper itemMapper;
+
+    @Mock
+    private CommentMapper commentMapper;
+
+    @InjectMocks
+    private ItemViewCache itemViewCache;
+
+    @Test
+    void findView_WhenItemExists_ShouldReturnOwnerIdAndItemWithComments() {
+        User owner = User.builder().id(3L).build();
+        Item item = Item.builder().id(1L).owner(owner).build();
+        Comment comment = new Comment();
+        CommentDto commentDto = CommentDto.builder().text("comment").build();
+        GetItemDto itemDto = new GetItemDto();
+        when(itemStorage.findById(1L))
+                .thenReturn(Optional.of(item));
+        when(itemMapper.toWithBookingsDto(item))
+                .thenReturn(itemDto);
+        when(commentStorage.findAllByItemId(1L))
+                .thenReturn(List.of(comment));
+        when(commentMapper.toDtoList(List.of(comment)))
+                .thenReturn(List.of(commentDto));
+
+        ItemView view = itemViewCache.findView(1L);
+
+        assertThat(view.getOwnerId(), is(3L));
+        assertThat(view.getItem().getComments(), is(List.of(commentDto)));
+    }
+
+    @Test
+    void findView_WhenItemNotFound_ShouldThrowNotFoundException() {
+        when(itemStorage.findById(1L))
+                .thenReturn(Optional.empty());
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> itemViewCache.findView(1L));
+
+        assertThat(e.getMessage(), is("Вещь с id '1' не найдена."));
+        verify(commentStorage, never()).findAllByItemId(any());
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.shared.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseItemSearchTest {
+
+    @Mock
+    private ItemStorage itemStorage;
+
+    private final OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 10);
+
+    private final Slice<Item> result = new SliceImpl<>(List.of(new Item()));
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+
+    private final LocalDateTime end = LocalDateTime.of(2030, 1, 5, 18, 0);
+
+    @Test
+    void search_FullTextEnabled_ShouldUseFullTextQuery() {
+        DatabaseItemSearch itemSearch = new DatabaseItemSearch(itemStorage, true);
+        when(itemStorage.searchFullText("drill", "%drill%", pageRequest))
+                .thenReturn(result);
+
+        Slice<Item> items = itemSearch.search("DriLL", pageRequest);
+
+        assertThat(items, is(result));
+        verify(itemStorage, times(1)).searchFullText("drill", "%drill%", pageRequest);
+        verify(itemStorage, never()).searchInTitleAndDescription(any(), any());
+    }
+
+    @Test
+    void search_FullTextDisabled_ShouldUseLikeQuery() {
+        DatabaseItemSearch itemSearch = new DatabaseItemSearch(itemStorage, false);
+        when(itemStorage.searchInTitleAndDescription("%drill%", pageRequest))
+                .thenReturn(result);
+
+        Slice<Item> items = itemSearch.search("DriLL", pageRequest);
+
+        assertThat(items, is(result));
+        verify(itemStorage, times(1)).searchInTitleAndDescription("%drill%", pageRequest);
+        verify(itemStorage, never()).searchFullText(any(), any(), any());
+    }
+
+    @Test
+    void searchWithPeriod_FullTextEnabled_ShouldUseFullTextAntiJoinQuery() {
+        DatabaseItemSearch itemSearch = new DatabaseItemSearch(itemStorage, true);
+        when(itemStorage.searchFullTextFreeBetween("drill", "%drill%", start, end, pageRequest))
+                .thenReturn(result);
+
+        Slice<Item> items = itemSearch.search("DriLL", start, end, pageRequest);
+
+        assertThat(items, is(result));
+        verify(itemStorage, never()).searchInTitleAndDescriptionFreeBetween(any(), any(), any(), any());
+    }
+
+    @Test
+    void searchWithPeriod_FullTextDisabled_ShouldUseLikeAntiJoinQuery() {
+        DatabaseItemSearch itemSearch = new DatabaseItemSearch(itemStorage, false);
+        when(itemStorage.searchInTitleAndDescriptionFreeBetween("%drill%", start, end, pageRequest))
+                .thenReturn(result);
+
+        Slice<Item> items = itemSearch.search("DriLL", start, end, pageRequest);
+
+        assertThat(items, is(result));
+        verify(itemStorage, never()).searchFullTextFreeBetween(any(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,287 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.shared.OffsetPageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedItemSearchTest {
+
+    @Mock
+    private ItemStorage itemStorage;
+
+    @Captor
+    private ArgumentCaptor<Collection<Long>> idsCaptor;
+
+    private IndexedItemSearch itemSearch;
+
+    private final List<Item> items = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        items.add(createItem(1L, "Дрель аккумуляторная", "Мощная дрель", true));
+        items.add(createItem(2L, "Отвертка", "Крестовая отвертка", true));
+        items.add(createItem(3L, "Перфоратор", "Ударная дрель-перфоратор", true));
+        items.add(createItem(4L, "Дрель старая", "Сломана", false));
+        itemSearch = new IndexedItemSearch(itemStorage);
+        when(itemStorage.findAllByAvailableTrueAndIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(items.stream().filter(Item::getAvailable).collect(Collectors.toList()));
+        lenient().when(itemStorage.findAllById(anyIterable()))
+                .thenAnswer(invocation -> findAllById(invocation.getArgument(0)));
+        lenient().when(itemStorage.findAvailableIdsByIdIn(any()))
+                .thenAnswer(invocation -> findAvailableIdsByIdIn(invocation.getArgument(0)));
+        itemSearch.load();
+    }
+
+    @Test
+    void search_WhenTokenMatchesTerms_ShouldReturnAvailableItemsOrderedById() {
+        Slice<Item> result = itemSearch.search("ДРЕЛЬ", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), is(List.of(1L, 3L)));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    void search_WhenTokenIsPartOfTerm_ShouldMatchSubstring() {
+        Slice<Item> result = itemSearch.search("ккумулятор", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), is(List.of(1L)));
+    }
+
+    @Test
+    void search_WhenTokenIsShorterThanTrigram_ShouldMatchSubstring() {
+        Slice<Item> result = itemSearch.search("ль", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), is(List.of(1L, 3L)));
+    }
+
+    @Test
+    void search_WhenSeveralTokens_ShouldReturnItemsContainingWholeText() {
+        Slice<Item> result = itemSearch.search("ударная дрель", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), is(List.of(3L)));
+    }
+
+    @Test
+    void search_WhenTokensAreNotAdjacentInText_ShouldNotMatch() {
+        Slice<Item> result = itemSearch.search("дрель ударная", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), emptyIterable());
+    }
+
+    @Test
+    void search_WhenTokensAreSplitBetweenNameAndDescription_ShouldNotMatch() {
+        Slice<Item> result = itemSearch.search("аккумуляторная мощная", OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), emptyIterable());
+    }
+
+    @Test
+    void search_WhenTextContainsSeparators_ShouldMatchTheSameSeparators() {
+        assertThat(ids(itemSearch.search("дрель-перфоратор", OffsetPageRequest.of(0L, 10))), is(List.of(3L)));
+        assertThat(ids(itemSearch.search("дрель перфоратор", OffsetPageRequest.of(0L, 10))), emptyIterable());
+    }
+
+    @Test
+    void search_WhenPageIsSmallerThanMatches_ShouldReportNextSlice() {
+        Slice<Item> first = itemSearch.search("дрель", OffsetPageRequest.of(0L, 1));
+        Slice<Item> second = itemSearch.search("дрель", OffsetPageRequest.of(1L, 1));
+
+        assertThat(ids(first), is(List.of(1L)));
+        assertThat(first.hasNext(), is(true));
+        assertThat(ids(second), is(List.of(3L)));
+        assertThat(second.hasNext(), is(false));
+    }
+
+    @Test
+    void search_WhenIndexedItemBecameUnavailableInDatabase_ShouldSkipItBeforeCuttingPage() {
+        items.get(0).setAvailable(false);
+
+        Slice<Item> result = itemSearch.search("дрель", OffsetPageRequest.of(0L, 1));
+
+        assertThat(ids(result), is(List.of(3L)));
+        assertThat(result.hasNext(), is(false));
+    }
+
+    @Test
+    void search_WhenIndexedItemWasDeleted_ShouldSkipItBeforeCuttingPage() {
+        items.remove(0);
+
+        Slice<Item> first = itemSearch.search("дрель", OffsetPageRequest.of(0L, 1));
+        Slice<Item> second = itemSearch.search("дрель", OffsetPageRequest.of(1L, 1));
+
+        assertThat(ids(first), is(List.of(3L)));
+        assertThat(first.hasNext(), is(false));
+        assertThat(ids(second), emptyIterable());
+    }
+
+    @Test
+    void search_WhenManyMatches_ShouldConfirmIdsInBoundedChunks() {
+        for (long id = 101; id <= 2600; id++) {
+            Item item = createItem(id, "Пила", "Ручная пила", true);
+            items.add(item);
+            itemSearch.index(item);
+        }
+
+        Slice<Item> result = itemSearch.search("пила", OffsetPageRequest.of(1500L, 10));
+
+        assertThat(ids(result), is(LongStream.rangeClosed(1601, 1610).boxed().collect(Collectors.toList())));
+        assertThat(result.hasNext(), is(true));
+        verify(itemStorage, times(2)).findAvailableIdsByIdIn(idsCaptor.capture());
+        assertThat(idsCaptor.getAllValues().get(0).size(), is(1000));
+        assertThat(idsCaptor.getAllValues().get(1).size(), is(1000));
+    }
+
+    @Test
+    void search_WhenNothingMatches_ShouldNotQueryStorage() {
+        Slice<Item> result = itemSearch.search("пила", OffsetPageRequest.of(0L, 10));
+
+        assertThat(result.getContent(), emptyIterable());
+        verify(itemStorage, never()).findAllById(any());
+    }
+
+    @Test
+    void index_WhenItemBecomesUnavailable_ShouldRemoveItFromIndex() {
+        Item item = items.get(0);
+        item.setAvailable(false);
+
+        itemSearch.index(item);
+
+        assertThat(ids(itemSearch.search("дрель", OffsetPageRequest.of(0L, 10))), is(List.of(3L)));
+    }
+
+    @Test
+    void index_WhenItemBecomesAvailable_ShouldAddItToIndex() {
+        Item item = items.get(3);
+        item.setAvailable(true);
+
+        itemSearch.index(item);
+
+        assertThat(ids(itemSearch.search("дрель", OffsetPageRequest.of(0L, 10))), is(List.of(1L, 3L, 4L)));
+    }
+
+    @Test
+    void index_WhenItemRenamed_ShouldReplaceOldTerms() {
+        Item item = items.get(1);
+        item.setName("Шуруповерт");
+        item.setDescription("Аккумуляторный шуруповерт");
+
+        itemSearch.index(item);
+
+        assertThat(ids(itemSearch.search("отвертка", OffsetPageRequest.of(0L, 10))), emptyIterable());
+        assertThat(ids(itemSearch.search("шуруповерт", OffsetPageRequest.of(0L, 10))), is(List.of(2L)));
+    }
+
+    @Test
+    void index_WhenNewItemAdded_ShouldMakeItSearchable() {
+        Item item = createItem(5L, "Дрель ручная", "Без проводов", true);
+        items.add(item);
+
+        itemSearch.index(item);
+
+        assertThat(ids(itemSearch.search("ручная", OffsetPageRequest.of(0L, 10))), is(List.of(5L)));
+    }
+
+    @Test
+    void searchWithPeriod_ShouldPassMatchedIdsToAntiJoinQuery() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+        LocalDateTime end = start.plusHours(9);
+        when(itemStorage.findAvailableIdsByIdInFreeBetween(List.of(1L, 3L), start, end))
+                .thenReturn(List.of(3L));
+
+        Slice<Item> result = itemSearch.search("дрель", start, end, OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), is(List.of(3L)));
+        assertThat(result.hasNext(), is(false));
+        verify(itemStorage, never()).findAvailableIdsByIdIn(any());
+    }
+
+    @Test
+    void searchWithPeriod_WhenManyMatches_ShouldQueryChunksUntilPageIsFull() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+        LocalDateTime end = start.plusHours(9);
+        for (long id = 101; id <= 3100; id++) {
+            Item item = createItem(id, "Пила", "Ручная пила", true);
+            items.add(item);
+            itemSearch.index(item);
+        }
+        when(itemStorage.findAvailableIdsByIdInFreeBetween(any(), eq(start), eq(end)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    return ids.stream().filter(id -> id % 100 == 0).sorted().collect(Collectors.toList());
+                });
+
+        Slice<Item> result = itemSearch.search("пила", start, end, OffsetPageRequest.of(10L, 5));
+
+        assertThat(ids(result), is(List.of(1200L, 1300L, 1400L, 1500L, 1600L)));
+        assertThat(result.hasNext(), is(true));
+        verify(itemStorage, times(2)).findAvailableIdsByIdInFreeBetween(idsCaptor.capture(), eq(start), eq(end));
+        assertThat(idsCaptor.getAllValues().get(0).size(), is(1000));
+        assertThat(idsCaptor.getAllValues().get(1).size(), is(1000));
+    }
+
+    @Test
+    void searchWithPeriod_WhenNothingMatches_ShouldNotQueryStorage() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+
+        Slice<Item> result = itemSearch.search("пила", start, start.plusHours(9), OffsetPageRequest.of(0L, 10));
+
+        assertThat(ids(result), emptyIterable());
+        verify(itemStorage, never()).findAvailableIdsByIdInFreeBetween(any(), any(), any());
+    }
+
+    private List<Long> findAvailableIdsByIdIn(Collection<Long> ids) {
+        return items.stream()
+                .filter(item -> item.getAvailable() && ids.contains(item.getId()))
+                .map(Item::getId)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private List<Item> findAllById(Collection<Long> ids) {
+        return items.stream()
+                .filter(item -> ids.contains(item.getId()))
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> ids(Iterable<Item> result) {
+        List<Long> ids = new ArrayList<>();
+        result.forEach(item -> ids.add(item.getId()));
+        return ids;
+    }
+
+    private Item createItem(long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
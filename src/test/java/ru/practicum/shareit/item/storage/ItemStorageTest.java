@@ -8,11 +8,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.storage.BookingStorage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -30,6 +35,13 @@ class ItemStorageTest {
     @Autowired
     private UserStorage userStorage;
 
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    private final LocalDateTime start = LocalDateTime.of(2030, 1, 5, 9, 0);
+
+    private final LocalDateTime end = LocalDateTime.of(2030, 1, 5, 18, 0);
+
     private Item savedItem1;
 
     private Item savedItem2;
@@ -68,7 +80,7 @@ class ItemStorageTest {
     @Test
     void findAllByOwnerIdOrderById_ShouldReturnListOfTwoItems() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
-        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest);
+        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
@@ -78,7 +90,7 @@ class ItemStorageTest {
     @Test
     void findAllByOwnerIdOrderById_When_OffsetIs1_ShouldReturnListOfTOneItems() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(1L, 5);
-        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest);
+        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -88,17 +100,26 @@ class ItemStorageTest {
     @Test
     void findAllByOwnerIdOrderById_When_SizeIs1_ShouldReturnListOfTOneItems() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
-        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest);
+        List<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
         assertThat(items, is(List.of(savedItem1)));
     }
 
+    @Test
+    void findAllByOwnerIdOrderById_When_SizeIs1_ShouldReportNextSlice() {
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
+        Slice<Item> items = itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest);
+
+        assertThat(items.hasNext(), is(true));
+        assertThat(itemStorage.findAllByOwnerIdOrderById(savedUser1.getId(), pageRequest.next()).hasNext(), is(false));
+    }
+
     @Test
     void findAllByOwnerIdOrderById_WhenUnknownUser_ShouldReturnEmptyList() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
-        List<Item> items = itemStorage.findAllByOwnerIdOrderById(999L, pageRequest);
+        List<Item> items = itemStorage.findAllByOwnerIdOrderById(999L, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(0));
@@ -109,7 +130,7 @@ class ItemStorageTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
@@ -121,7 +142,7 @@ class ItemStorageTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(1L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -133,7 +154,7 @@ class ItemStorageTest {
         String text = "%name%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -145,7 +166,7 @@ class ItemStorageTest {
         String text = "%name 3%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -157,7 +178,7 @@ class ItemStorageTest {
         String text = "%description%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
@@ -169,7 +190,7 @@ class ItemStorageTest {
         String text = "%description 3%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(1));
@@ -181,13 +202,89 @@ class ItemStorageTest {
         String text = "%%";
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
 
-        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest);
+        List<Item> items = itemStorage.searchInTitleAndDescription(text, pageRequest).getContent();
 
         assertThat(items, notNullValue());
         assertThat(items.size(), is(2));
         assertThat(items, is(List.of(savedItem1, savedItem3)));
     }
 
+    @Test
+    void searchInTitleAndDescription_WhenMatchesInTitleAndDescription_ShouldRankTitleMatchesFirst() {
+        Item item = Item.builder().name("description holder").description("other").available(true)
+                .owner(savedUser2).build();
+        Item savedItem4 = itemStorage.save(item);
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
+
+        List<Item> items = itemStorage.searchInTitleAndDescription("%description%", pageRequest).getContent();
+
+        assertThat(items, is(List.of(savedItem4, savedItem1, savedItem3)));
+    }
+
+    @Test
+    void searchInTitleAndDescriptionFreeBetween_WhenApprovedBookingOverlaps_ShouldSkipBookedItem() {
+        bookingStorage.save(createBooking(savedItem1, BookingStatus.APPROVED, start.minusDays(1), start.plusHours(1)));
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
+
+        List<Item> items = itemStorage.searchInTitleAndDescriptionFreeBetween("%item%", start, end, pageRequest)
+                .getContent();
+
+        assertThat(items, is(List.of(savedItem3)));
+    }
+
+    @Test
+    void searchInTitleAndDescriptionFreeBetween_WhenOnlyWaitingOrAdjacentBookings_ShouldReturnAllItems() {
+        bookingStorage.save(createBooking(savedItem1, BookingStatus.WAITING, start, end));
+        bookingStorage.save(createBooking(savedItem3, BookingStatus.APPROVED, end, end.plusDays(1)));
+        bookingStorage.save(createBooking(savedItem3, BookingStatus.APPROVED, start.minusDays(1), start));
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 5);
+
+        List<Item> items = itemStorage.searchInTitleAndDescriptionFreeBetween("%item%", start, end, pageRequest)
+                .getContent();
+
+        assertThat(items, is(List.of(savedItem1, savedItem3)));
+    }
+
+    @Test
+    void searchInTitleAndDescriptionFreeBetween_WhenFirstMatchBooked_ShouldFillPageWithNextFreeItem() {
+        bookingStorage.save(createBooking(savedItem1, BookingStatus.APPROVED, start, end));
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
+
+        Slice<Item> items = itemStorage.searchInTitleAndDescriptionFreeBetween("%item%", start, end, pageRequest);
+
+        assertThat(items.getContent(), is(List.of(savedItem3)));
+        assertThat(items.hasNext(), is(false));
+    }
+
+    @Test
+    void findAvailableIdsByIdIn_ShouldReturnIdsOfAvailableItemsOrderedById() {
+        List<Long> ids = itemStorage.findAvailableIdsByIdIn(
+                List.of(savedItem3.getId(), savedItem2.getId(), savedItem1.getId(), Long.MAX_VALUE));
+
+        assertThat(ids, is(List.of(savedItem1.getId(), savedItem3.getId())));
+    }
+
+    @Test
+    void findAvailableIdsByIdInFreeBetween_ShouldSkipUnavailableAndBookedItems() {
+        bookingStorage.save(createBooking(savedItem3, BookingStatus.APPROVED, start.plusHours(2), end.plusHours(2)));
+
+        List<Long> ids = itemStorage.findAvailableIdsByIdInFreeBetween(
+                List.of(savedItem1.getId(), savedItem2.getId(), savedItem3.getId()), start, end);
+
+        assertThat(ids, is(List.of(savedItem1.getId())));
+    }
+
+    private Booking createBooking(Item item, BookingStatus status, LocalDateTime start, LocalDateTime end) {
+        return Booking.builder()
+                .item(item)
+                .itemOwnerId(item.getOwner().getId())
+                .booker(item.getOwner().getId().equals(savedUser1.getId()) ? savedUser2 : savedUser1)
+                .status(status)
+                .start(start)
+                .end(end)
+                .build();
+    }
+
     private Item createItem(int id) {
         return Item.builder()
                 .name("item name " + id)
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class LongPostingListTest {
+
+    @Test
+    void union_ShouldMergeListsIntoSortedIdsWithoutDuplicates() {
+        long[] result = LongPostingList.union(List.of(postings(5, 1, 9), postings(2, 5), postings(), postings(9, 3)));
+
+        assertThat(result, is(new long[]{1, 2, 3, 5, 9}));
+    }
+
+    @Test
+    void union_WhenNoLists_ShouldReturnEmptyArray() {
+        assertThat(LongPostingList.union(List.of()), is(new long[0]));
+    }
+
+    @Test
+    void intersect_ShouldKeepCommonIds() {
+        assertThat(LongPostingList.intersect(new long[]{1, 3, 5, 7}, new long[]{3, 4, 7}), is(new long[]{3, 7}));
+    }
+
+    private static LongPostingList postings(long... ids) {
+        LongPostingList list = new LongPostingList();
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.item.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+
+class TermGramIndexTest {
+
+    private final TermGramIndex index = new TermGramIndex();
+
+    @BeforeEach
+    void init() {
+        index.add("дрель");
+        index.add("аккумуляторная");
+        index.add("перфоратор");
+    }
+
+    @Test
+    void termsContaining_WhenTokenIsShort_ShouldReturnTermsWithSubstring() {
+        assertThat(index.termsContaining("р"), containsInAnyOrder("дрель", "аккумуляторная", "перфоратор"));
+        assertThat(index.termsContaining("ор"), containsInAnyOrder("аккумуляторная", "перфоратор"));
+        assertThat(index.termsContaining("рел"), containsInAnyOrder("дрель"));
+    }
+
+    @Test
+    void termsContaining_WhenTokenIsLong_ShouldReturnOnlyTermsContainingWholeToken() {
+        index.add("торатор");
+
+        assertThat(index.termsContaining("ратор"), containsInAnyOrder("перфоратор", "торатор"));
+        assertThat(index.termsContaining("ккумулятор"), containsInAnyOrder("аккумуляторная"));
+        assertThat(index.termsContaining("торфо"), empty());
+    }
+
+    @Test
+    void termsContaining_WhenTermRemoved_ShouldNotReturnIt() {
+        index.remove("дрель");
+
+        assertThat(index.termsContaining("дрель"), empty());
+        assertThat(index.termsContaining("р"), containsInAnyOrder("аккумуляторная", "перфоратор"));
+    }
+}
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -190,7 +191,7 @@ class ItemRequestControllerTest {
     @SneakyThrows
     public void getAvailableItemRequests_NullFromAndSize_ShouldReturnRequests() {
         when(itemRequestService.getAvailableItemRequests(userId, 0L, 10))
-                .thenReturn(List.of(itemRequestDto));
+                .thenReturn(new SliceImpl<>(List.of(itemRequestDto)));
 
         mvc.perform(get("/requests/all")
                         .header(header, userId))
@@ -205,7 +206,7 @@ class ItemRequestControllerTest {
     @SneakyThrows
     public void getAvailableItemRequests_WithAllNotNullFields_ShouldThrowConstraintViolationException() {
         when(itemRequestService.getAvailableItemRequests(userId, 1L, 2))
-                .thenReturn(List.of(itemRequestDto));
+                .thenReturn(new SliceImpl<>(List.of(itemRequestDto)));
 
         mvc.perform(get("/requests/all")
                         .header(header, userId)
@@ -14,7 +14,7 @@ import ru.practicum.shareit.user.model.User;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
-import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {
@@ -26,13 +26,13 @@ class ItemRequestMapperTest {
     private ItemRequestMapper itemRequestMapper;
 
     @Test
-    public void mapToModelWithCreatedNotNull() {
+    public void mapToModelWithoutCreated() {
         AddItemRequestDto addItemRequestDto = new AddItemRequestDto("description");
 
         ItemRequest itemRequest = itemRequestMapper.toModel(addItemRequestDto);
 
         assertThat(itemRequest.getDescription(), is(addItemRequestDto.getDescription()));
-        assertThat(itemRequest.getCreated(), is(notNullValue()));
+        assertThat(itemRequest.getCreated(), is(nullValue()));
     }
 
     @Test
@@ -103,7 +103,7 @@ class ItemRequestServiceImplIntegrationTest {
         ItemRequestDto savedRequest3 = itemRequestService.addNewItemRequest(savedUser2.getId(), addItemRequestDto3);
 
         List<ItemRequestDto> availableItemRequests = itemRequestService
-                .getAvailableItemRequests(savedUser.getId(), 0L, 5);
+                .getAvailableItemRequests(savedUser.getId(), 0L, 5).getContent();
 
         assertThat(availableItemRequests, notNullValue());
         assertThat(availableItemRequests, is(List.of(savedRequest3, savedRequest2)));
@@ -122,7 +122,7 @@ class ItemRequestServiceImplIntegrationTest {
         ItemRequestDto savedRequest3 = itemRequestService.addNewItemRequest(savedUser2.getId(), addItemRequestDto3);
 
         List<ItemRequestDto> availableItemRequests = itemRequestService
-                .getAvailableItemRequests(savedUser.getId(), 1L, 5);
+                .getAvailableItemRequests(savedUser.getId(), 1L, 5).getContent();
 
         assertThat(availableItemRequests, notNullValue());
         assertThat(availableItemRequests, is(List.of(savedRequest2)));
@@ -139,7 +139,7 @@ class ItemRequestServiceImplIntegrationTest {
         ItemRequestDto savedRequest3 = itemRequestService.addNewItemRequest(savedUser2.getId(), addItemRequestDto3);
 
         List<ItemRequestDto> availableItemRequests = itemRequestService
-                .getAvailableItemRequests(savedUser.getId(), 2L, 5);
+                .getAvailableItemRequests(savedUser.getId(), 2L, 5).getContent();
 
         assertThat(availableItemRequests, notNullValue());
         assertThat(availableItemRequests, emptyIterable());
@@ -7,8 +7,10 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.request.dto.AddItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
@@ -16,14 +18,19 @@ import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestStorage;
 import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.shared.exception.NotFoundException;
+import ru.practicum.shareit.shared.time.RequestClock;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.storage.UserStorage;
+import ru.practicum.shareit.user.storage.UserCache;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -41,11 +48,15 @@ class ItemRequestServiceImplTest {
     private ItemRequestStorage itemRequestStorage;
 
     @Mock
-    private UserStorage userStorage;
+    private UserCache userCache;
 
     @Mock
     private ItemRequestMapper itemRequestMapper;
 
+    @Spy
+    private RequestClock requestClock = new RequestClock(
+            Clock.fixed(LocalDateTime.of(2024, 1, 1, 12, 0).toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -69,7 +80,7 @@ class ItemRequestServiceImplTest {
         AddItemRequestDto addItemRequestDto = new AddItemRequestDto(description);
         ItemRequest itemRequest2 = ItemRequest.builder().description(description).build();
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(user));
         when(itemRequestMapper.toModel(addItemRequestDto))
                 .thenReturn(itemRequest);
@@ -78,33 +89,34 @@ class ItemRequestServiceImplTest {
 
         itemRequestService.addNewItemRequest(userId, addItemRequestDto);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestMapper, times(1)).toModel(addItemRequestDto);
         verify(itemRequestStorage, times(1)).save(itemRequestArgumentCaptor.capture());
         ItemRequest captorValue = itemRequestArgumentCaptor.getValue();
 
         assertThat(captorValue, is(notNullValue()));
         assertThat(captorValue.getRequester(), is(user));
+        assertThat(captorValue.getCreated(), is(LocalDateTime.of(2024, 1, 1, 12, 0)));
     }
 
     @Test
     public void addNewItemRequest_NoUserFound_ThrowNotFoundException() {
         AddItemRequestDto addItemRequestDto = new AddItemRequestDto();
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
                 () -> itemRequestService.addNewItemRequest(userId, addItemRequestDto));
         assertThat(e.getMessage(), is("Пользователь с id '1' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestMapper, never()).toModel(any());
         verify(itemRequestStorage, never()).save(any());
     }
 
     @Test
     public void getAllItemRequestsFromUser_ShouldReturnEmptyList() {
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(itemRequestStorage.findRequestsFromUser(userId))
                 .thenReturn(Collections.emptyList());
@@ -116,7 +128,7 @@ class ItemRequestServiceImplTest {
         assertThat(requests, is(notNullValue()));
         assertThat(requests, is(Collections.emptyList()));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestStorage, times(1)).findRequestsFromUser(userId);
         verify(itemRequestMapper, times(1)).toDtoList(Collections.emptyList());
     }
@@ -124,7 +136,7 @@ class ItemRequestServiceImplTest {
     @Test
     public void getAllItemRequestsFromUser_ShouldReturnRequestList() {
         ItemRequestDto itemRequestDto = new ItemRequestDto();
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(itemRequestStorage.findRequestsFromUser(userId))
                 .thenReturn(List.of(itemRequest));
@@ -137,14 +149,14 @@ class ItemRequestServiceImplTest {
         assertThat(requests, is(List.of(itemRequestDto)));
         assertThat(requests.size(), is(1));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestStorage, times(1)).findRequestsFromUser(userId);
         verify(itemRequestMapper, times(1)).toDtoList(List.of(itemRequest));
     }
 
     @Test
     public void getAllItemRequestsFromUser_NoUserFound_ShouldThrowNotFoundException() {
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -152,7 +164,7 @@ class ItemRequestServiceImplTest {
 
         assertThat(e.getMessage(), is("Пользователь с id '1' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestStorage, never()).findRequestsFromUser(userId);
         verify(itemRequestMapper, never()).toDtoList(any());
     }
@@ -162,7 +174,7 @@ class ItemRequestServiceImplTest {
         Long from = 1L;
         Integer size = 1;
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -171,7 +183,7 @@ class ItemRequestServiceImplTest {
         assertThat(e.getMessage(), is("Пользователь с id '1' не найден."));
 
         verify(itemRequestStorage, never()).findAllRequests();
-        verify(itemRequestStorage, never()).findAvailableRequests(userId, OffsetPageRequest.of(from, size));
+        verify(itemRequestStorage, never()).findAvailableRequestIds(userId, OffsetPageRequest.of(from, size));
         verify(itemRequestMapper, never()).toDtoList(any());
     }
 
@@ -180,7 +192,7 @@ class ItemRequestServiceImplTest {
         Long from = null;
         Integer size = 1;
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
@@ -197,7 +209,7 @@ class ItemRequestServiceImplTest {
         Long from = 1L;
         Integer size = null;
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
 
         IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
@@ -210,28 +222,55 @@ class ItemRequestServiceImplTest {
     }
 
     @Test
-    public void getAvailableItemRequests_WithNotNullFromAndSize_ShouldInvokeFindAllPageable() {
+    public void getAvailableItemRequests_NoAvailableRequests_ShouldNotFetchRequests() {
+        Long from = 1L;
+        Integer size = 2;
+
+        when(userCache.findById(userId))
+                .thenReturn(Optional.of(new User()));
+        when(itemRequestStorage.findAvailableRequestIds(eq(userId), any()))
+                .thenReturn(new SliceImpl<>(Collections.emptyList()));
+
+        Slice<ItemRequestDto> result = itemRequestService.getAvailableItemRequests(userId, from, size);
+
+        assertThat(result.getContent(), emptyIterable());
+        assertThat(result.hasNext(), is(false));
+        verify(itemRequestStorage, never()).findAllRequests();
+        verify(itemRequestStorage, never()).findAllWithItemsByIdIn(any());
+        verify(itemRequestMapper, never()).toDtoList(any());
+    }
+
+    @Test
+    public void getAvailableItemRequests_WithNotNullFromAndSize_ShouldFetchRequestsBySlicedIds() {
         Long from = 1L;
         Integer size = 2;
+        OffsetPageRequest pageRequest = OffsetPageRequest.of(from, size);
+        ItemRequest itemRequest = new ItemRequest();
+        ItemRequestDto itemRequestDto = new ItemRequestDto();
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
-        when(itemRequestStorage.findAvailableRequests(eq(userId), any()))
-                .thenReturn(Page.empty());
+        when(itemRequestStorage.findAvailableRequestIds(eq(userId), any()))
+                .thenReturn(new SliceImpl<>(List.of(5L), pageRequest, true));
+        when(itemRequestStorage.findAllWithItemsByIdIn(List.of(5L)))
+                .thenReturn(List.of(itemRequest));
+        when(itemRequestMapper.toDtoList(List.of(itemRequest)))
+                .thenReturn(List.of(itemRequestDto));
 
-        itemRequestService.getAvailableItemRequests(userId, from, size);
+        Slice<ItemRequestDto> result = itemRequestService.getAvailableItemRequests(userId, from, size);
 
+        assertThat(result.getContent(), is(List.of(itemRequestDto)));
+        assertThat(result.hasNext(), is(true));
         verify(itemRequestStorage, never()).findAllRequests();
-        verify(itemRequestStorage, times(1)).findAvailableRequests(eq(userId),
-                any());
-        verify(itemRequestMapper, times(1)).toDtoList(any());
+        verify(itemRequestStorage, times(1)).findAvailableRequestIds(eq(userId), any());
+        verify(itemRequestStorage, times(1)).findAllWithItemsByIdIn(List.of(5L));
     }
 
     @Test
     public void getItemRequestById_UserNotFound_ShouldThrowNotFoundException() {
         long requestId = 1;
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.empty());
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -246,7 +285,7 @@ class ItemRequestServiceImplTest {
     public void getItemRequestById_RequestNotFound_ShouldThrowNotFoundException() {
         long requestId = 1;
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
 
         NotFoundException e = assertThrows(NotFoundException.class,
@@ -254,7 +293,7 @@ class ItemRequestServiceImplTest {
 
         assertThat(e.getMessage(), is("Запрос с id '1' не найден."));
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestMapper, never()).toDto(any());
     }
 
@@ -263,14 +302,14 @@ class ItemRequestServiceImplTest {
         long requestId = 1;
         itemRequest.setId(1L);
 
-        when(userStorage.findById(userId))
+        when(userCache.findById(userId))
                 .thenReturn(Optional.of(new User()));
         when(itemRequestStorage.findById(requestId))
                 .thenReturn(Optional.of(itemRequest));
 
         itemRequestService.getItemRequestById(userId, requestId);
 
-        verify(userStorage, times(1)).findById(userId);
+        verify(userCache, times(1)).findById(userId);
         verify(itemRequestStorage, times(1)).findById(requestId);
         verify(itemRequestMapper, times(1)).toDto(itemRequest);
     }
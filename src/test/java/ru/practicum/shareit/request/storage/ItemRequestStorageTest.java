@@ -9,7 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -17,6 +17,7 @@ import ru.practicum.shareit.shared.OffsetPageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.storage.UserStorage;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -53,18 +54,22 @@ class ItemRequestStorageTest {
         savedUser2 = userStorage.save(user2);
 
 
-        ItemRequest itemRequest1 = ItemRequest.builder().requester(savedUser1).description("description1").build();
+        ItemRequest itemRequest1 = ItemRequest.builder().requester(savedUser1).description("description1")
+                .created(LocalDateTime.now()).build();
         savedRequest1 = itemRequestStorage.save(itemRequest1);
         Item item = Item.builder().owner(savedUser1).available(true).name("name").description("description")
                 .request(savedRequest1).build();
         savedItem = itemStorage.save(item);
         savedRequest1.addItem(savedItem);
         savedRequest1 = itemRequestStorage.save(itemRequest1);
-        ItemRequest itemRequest2 = ItemRequest.builder().requester(savedUser2).description("description2").build();
+        ItemRequest itemRequest2 = ItemRequest.builder().requester(savedUser2).description("description2")
+                .created(LocalDateTime.now()).build();
         savedRequest2 = itemRequestStorage.save(itemRequest2);
-        ItemRequest itemRequest3 = ItemRequest.builder().requester(savedUser2).description("description3").build();
+        ItemRequest itemRequest3 = ItemRequest.builder().requester(savedUser2).description("description3")
+                .created(LocalDateTime.now()).build();
         savedRequest3 = itemRequestStorage.save(itemRequest3);
-        ItemRequest itemRequest4 = ItemRequest.builder().requester(savedUser1).description("description4").build();
+        ItemRequest itemRequest4 = ItemRequest.builder().requester(savedUser1).description("description4")
+                .created(LocalDateTime.now()).build();
         savedRequest4 = itemRequestStorage.save(itemRequest4);
     }
 
@@ -111,47 +116,52 @@ class ItemRequestStorageTest {
     }
 
     @Test
-    public void findAllByOrderByCreatedDesc_From0Size1_ShouldReturnListOfItemRequest() {
+    public void findAvailableRequestIds_From0Size1_ShouldReturnNewestRequestIdAndHasNext() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 1);
 
-        Page<ItemRequest> requests = itemRequestStorage.findAvailableRequests(savedUser1.getId(),
-                pageRequest);
+        Slice<Long> requestIds = itemRequestStorage.findAvailableRequestIds(savedUser1.getId(), pageRequest);
 
-        assertThat(requests.getContent(), is(List.of(savedRequest3)));
-        assertThat(requests.getContent().size(), is(1));
+        assertThat(requestIds.getContent(), is(List.of(savedRequest3.getId())));
+        assertThat(requestIds.hasNext(), is(true));
     }
 
     @Test
-    @SneakyThrows
-    public void findAllByOrderByCreatedDesc_From0Size10_ShouldReturnListOfTwoItemRequest() {
+    public void findAvailableRequestIds_From0Size10_ShouldReturnTwoRequestIdsWithoutNext() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 10);
 
-        Page<ItemRequest> requests = itemRequestStorage.findAvailableRequests(savedUser1.getId(),
-                pageRequest);
+        Slice<Long> requestIds = itemRequestStorage.findAvailableRequestIds(savedUser1.getId(), pageRequest);
 
-        assertThat(requests.getContent(), is(List.of(savedRequest3, savedRequest2)));
-        assertThat(requests.getContent().size(), is(2));
+        assertThat(requestIds.getContent(), is(List.of(savedRequest3.getId(), savedRequest2.getId())));
+        assertThat(requestIds.hasNext(), is(false));
     }
 
     @Test
-    public void findAllByOrderByCreatedDesc_From1Size1_ShouldReturnListOfItemRequest() {
+    public void findAvailableRequestIds_From1Size1_ShouldReturnOneRequestId() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(1L, 1);
 
-        Page<ItemRequest> requests = itemRequestStorage.findAvailableRequests(savedUser1.getId(),
-                pageRequest);
+        Slice<Long> requestIds = itemRequestStorage.findAvailableRequestIds(savedUser1.getId(), pageRequest);
 
-        assertThat(requests.getContent(), is(List.of(savedRequest2)));
-        assertThat(requests.getContent().size(), is(1));
+        assertThat(requestIds.getContent(), is(List.of(savedRequest2.getId())));
+        assertThat(requestIds.hasNext(), is(false));
     }
 
     @Test
-    public void findAllByOrderByCreatedDesc_From1Size1_ShouldReturnAllItemRequest() {
+    public void findAvailableRequestIds_From0Size2_ShouldReturnAllRequestIdsWithoutNext() {
         OffsetPageRequest pageRequest = OffsetPageRequest.of(0L, 2);
 
-        Page<ItemRequest> requests = itemRequestStorage.findAvailableRequests(savedUser1.getId(),
-                pageRequest);
+        Slice<Long> requestIds = itemRequestStorage.findAvailableRequestIds(savedUser1.getId(), pageRequest);
+
+        assertThat(requestIds.getContent(), is(List.of(savedRequest3.getId(), savedRequest2.getId())));
+        assertThat(requestIds.hasNext(), is(false));
+    }
+
+    @Test
+    public void findAllWithItemsByIdIn_ShouldReturnRequestsWithItemsSortedByCreated() {
+        List<ItemRequest> requests = itemRequestStorage.findAllWithItemsByIdIn(
+                List.of(savedRequest1.getId(), savedRequest4.getId()));
 
-        assertThat(requests.getContent(), is(List.of(savedRequest3, savedRequest2)));
-        assertThat(requests.getContent().size(), is(2));
+        assertThat(requests, is(List.of(savedRequest4, savedRequest1)));
+        assertThat(requests.get(0).getItems().size(), is(0));
+        assertThat(requests.get(1).getItems().size(), is(1));
     }
-}
\ No newline at end of file
+}
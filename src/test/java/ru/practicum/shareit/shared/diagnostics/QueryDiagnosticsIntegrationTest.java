@@ -0,0 +1,67 @@
+package ru.practicum.shareit.shared.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.diagnostics.enabled=true",
+        "shareit.diagnostics.slow-query-threshold=0ms"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class QueryDiagnosticsIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void request_ShouldReportExecutedStatementCountInHeader() throws Exception {
+        UserDto user = userService.addUser(UserDto.builder().name("user").email("query-count@mail.com").build());
+
+        MvcResult result = mvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryCountFilter.QUERY_COUNT_HEADER))
+                .andReturn();
+
+        long queryCount = Long.parseLong(result.getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        assertThat(queryCount, greaterThanOrEqualTo(1L));
+    }
+
+    @Test
+    void queriesEndpoint_ShouldReportQueriesAndFlagSlowOnes() throws Exception {
+        mvc.perform(delete("/actuator/queries"))
+                .andExpect(status().isNoContent());
+        UserDto user = userService.addUser(UserDto.builder().name("user").email("queries@mail.com").build());
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/queries"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.slowQueryThresholdMs", is(0)))
+                .andExpect(jsonPath("$.queries[*].slow", hasItem(true)))
+                .andExpect(jsonPath("$.queries[0].executionCount", greaterThanOrEqualTo(1)));
+    }
+}
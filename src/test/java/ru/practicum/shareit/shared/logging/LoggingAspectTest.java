@@ -0,0 +1,88 @@
+package ru.practicum.shareit.shared.logging;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.shared.exception.NotFoundException;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoggingAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private LoggingProperties properties;
+
+    private LoggingAspect loggingAspect;
+
+    @BeforeEach
+    void init() {
+        properties = new LoggingProperties();
+        properties.setSampleRates(Map.of("booking", 0.5, "booking.BookingController", 0.0, "item", 0.25));
+        loggingAspect = new LoggingAspect(properties);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.getDeclaringTypeName()).thenReturn(BookingController.class.getName());
+        lenient().when(signature.getDeclaringType()).thenReturn(BookingController.class);
+        lenient().when(signature.getName()).thenReturn("getBookingById");
+        lenient().when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+    }
+
+    @Test
+    void getSampleRate_ShouldUseLongestMatchingPrefix() {
+        assertThat(loggingAspect.getSampleRate("ru.practicum.shareit.booking.BookingController"), is(0.0));
+        assertThat(loggingAspect.getSampleRate("ru.practicum.shareit.booking.service.BookingServiceImpl"), is(0.5));
+        assertThat(loggingAspect.getSampleRate("ru.practicum.shareit.item.ItemController"), is(0.25));
+        assertThat(loggingAspect.getSampleRate("ru.practicum.shareit.itemx.Other"), is(1.0));
+        assertThat(loggingAspect.getSampleRate("ru.practicum.shareit.user.UserController"), is(1.0));
+    }
+
+    @Test
+    void logAroundMethods_ShouldReturnResultOfProceed() throws Throwable {
+        properties.setPayload(true);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        Object result = loggingAspect.logAroundMethods(joinPoint);
+
+        assertThat(result, is("result"));
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void logAroundMethods_WhenDisabled_ShouldOnlyProceed() throws Throwable {
+        properties.setEnabled(false);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        Object result = loggingAspect.logAroundMethods(joinPoint);
+
+        assertThat(result, is("result"));
+        verify(joinPoint, times(0)).getSignature();
+    }
+
+    @Test
+    void logAroundMethods_WhenMethodThrows_ShouldRethrow() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new NotFoundException("not found"));
+
+        NotFoundException e = assertThrows(NotFoundException.class, () -> loggingAspect.logAroundMethods(joinPoint));
+
+        assertThat(e.getMessage(), is("not found"));
+        verify(joinPoint, times(1)).proceed();
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.shared.logging;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.booking.dto.GetBookingState;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PayloadSummarizerTest {
+
+    @Test
+    void summarize_WhenScalar_ShouldReturnValue() {
+        assertThat(PayloadSummarizer.summarize(5L), is("5"));
+        assertThat(PayloadSummarizer.summarize(true), is("true"));
+        assertThat(PayloadSummarizer.summarize(GetBookingState.ALL), is("ALL"));
+        assertThat(PayloadSummarizer.summarize(null), is("null"));
+    }
+
+    @Test
+    void summarize_WhenStringOrDto_ShouldNotExposeContent() {
+        assertThat(PayloadSummarizer.summarize("secret"), is("String(length=6)"));
+        assertThat(PayloadSummarizer.summarize(UserDto.builder().email("user@mail.com").build()), is("UserDto"));
+    }
+
+    @Test
+    void summarize_WhenContainer_ShouldReturnSize() {
+        assertThat(PayloadSummarizer.summarize(new ArrayList<>(List.of(1, 2, 3))), is("ArrayList(size=3)"));
+        assertThat(PayloadSummarizer.summarize(Map.of(1, 2)), is("Map1(size=1)"));
+        assertThat(PayloadSummarizer.summarize(new long[4]), is("long[4]"));
+        assertThat(PayloadSummarizer.summarize(new SliceImpl<>(List.of(1, 2))), is("Slice(size=2, hasNext=false)"));
+    }
+
+    @Test
+    void summarize_WhenResponseEntity_ShouldSummarizeBody() {
+        String summary = PayloadSummarizer.summarize(ResponseEntity.ok(new ArrayList<>(List.of("a", "b"))));
+
+        assertThat(summary, is("ResponseEntity(status=200, body=ArrayList(size=2))"));
+    }
+
+    @Test
+    void summarizeAll_ShouldJoinSummaries() {
+        assertThat(PayloadSummarizer.summarizeAll(new Object[]{1L, "text"}), is("[1, String(length=4)]"));
+    }
+}
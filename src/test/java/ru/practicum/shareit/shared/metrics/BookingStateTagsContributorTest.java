@@ -0,0 +1,70 @@
+package ru.practicum.shareit.shared.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.dto.GetBookingState;
+import ru.practicum.shareit.user.UserController;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.mock;
+
+class BookingStateTagsContributorTest {
+
+    private final BookingStateTagsContributor contributor = new BookingStateTagsContributor();
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    @Test
+    void getTags_WhenStateParamPresent_ShouldTagWithState() throws NoSuchMethodException {
+        request.setParameter("state", "PAST");
+
+        assertThat(tagValue(bookingListHandler()), is("PAST"));
+    }
+
+    @Test
+    void getTags_WhenStateParamMissing_ShouldTagWithDefaultState() throws NoSuchMethodException {
+        assertThat(tagValue(bookingListHandler()), is("ALL"));
+    }
+
+    @Test
+    void getTags_WhenStateParamUnknown_ShouldTagAsInvalid() throws NoSuchMethodException {
+        request.setParameter("state", "TEST");
+
+        assertThat(tagValue(bookingListHandler()), is("invalid"));
+    }
+
+    @Test
+    void getTags_WhenHandlerHasNoStateParam_ShouldTagAsNone() throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(mock(UserController.class),
+                UserController.class.getMethod("getUserById", long.class));
+
+        assertThat(tagValue(handler), is("none"));
+        assertThat(tagValue(new Object()), is("none"));
+    }
+
+    private HandlerMethod bookingListHandler() throws NoSuchMethodException {
+        return new HandlerMethod(mock(BookingController.class), BookingController.class.getMethod(
+                "getAllBookingsFromUser", Long.class, GetBookingState.class, Long.class, Integer.class, String.class));
+    }
+
+    private String tagValue(Object handler) {
+        List<Tag> tags = toList(contributor.getTags(request, new MockHttpServletResponse(), handler, null));
+        assertThat(tags.size(), is(1));
+        assertThat(tags.get(0).getKey(), is(BookingStateTagsContributor.TAG_NAME));
+        return tags.get(0).getValue();
+    }
+
+    private static List<Tag> toList(Iterable<Tag> tags) {
+        List<Tag> result = new ArrayList<>();
+        tags.forEach(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.shared.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    void bookingListRequest_ShouldBeTimedByBookingStateAndExposedToPrometheus() throws Exception {
+        UserDto user = userService.addUser(UserDto.builder().name("metrics").email("metrics@mail.com").build());
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("state", "PAST"))
+                .andExpect(status().isOk());
+
+        Timer requestTimer = meterRegistry.find("http.server.requests")
+                .tags("uri", "/bookings", "bookingState", "PAST")
+                .timer();
+        assertThat(requestTimer, notNullValue());
+        assertThat(requestTimer.count(), is(1L));
+        Timer storageTimer = meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "BookingStorage", "method", "findPastBookingsByBookerId")
+                .timer();
+        assertThat(storageTimer, notNullValue());
+        assertThat(storageTimer.count(), greaterThanOrEqualTo(1L));
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("bookingState=\"PAST\"")))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("quantile=\"0.99\"")));
+    }
+}
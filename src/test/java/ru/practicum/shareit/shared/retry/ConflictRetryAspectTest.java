@@ -0,0 +1,98 @@
+package ru.practicum.shareit.shared.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.shared.exception.ItemUnavailableException;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConflictRetryAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @Mock
+    private Signature signature;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ConflictRetryAspect conflictRetryAspect;
+
+    @BeforeEach
+    void init() {
+        final RetryProperties properties = new RetryProperties();
+        properties.setBackoff(Duration.ofMillis(1));
+        meterRegistry = new SimpleMeterRegistry();
+        conflictRetryAspect = new ConflictRetryAspect(properties, meterRegistry);
+        lenient().when(joinPoint.getSignature()).thenReturn(signature);
+        lenient().when(signature.toShortString()).thenReturn("BookingServiceImpl.acknowledgeBooking(..)");
+    }
+
+    @Test
+    void retryOnConflict_WhenConflictIsTransient_ShouldRetryAndReturnResult() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L))
+                .thenReturn("result");
+
+        Object result = conflictRetryAspect.retryOnConflict(joinPoint);
+
+        assertThat(result, is("result"));
+        verify(joinPoint, times(2)).proceed();
+        assertThat(meterRegistry.counter(ConflictRetryAspect.RETRIES_METRIC,
+                "method", "BookingServiceImpl.acknowledgeBooking(..)").count(), is(1.0));
+    }
+
+    @Test
+    void retryOnConflict_WhenConflictPersists_ShouldRethrowAfterMaxAttempts() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> conflictRetryAspect.retryOnConflict(joinPoint));
+
+        verify(joinPoint, times(3)).proceed();
+    }
+
+    @Test
+    void retryOnConflict_WhenOtherExceptionThrown_ShouldNotRetry() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new ItemUnavailableException("Вещь недоступна для бронирования."));
+
+        assertThrows(ItemUnavailableException.class, () -> conflictRetryAspect.retryOnConflict(joinPoint));
+
+        verify(joinPoint, times(1)).proceed();
+    }
+
+    @Test
+    void retryOnConflict_WhenTransactionActive_ShouldNotRetry() throws Throwable {
+        when(joinPoint.proceed())
+                .thenThrow(new ObjectOptimisticLockingFailureException(Item.class, 1L));
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            assertThrows(ObjectOptimisticLockingFailureException.class,
+                    () -> conflictRetryAspect.retryOnConflict(joinPoint));
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        verify(joinPoint, times(1)).proceed();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.shared.time;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+class RequestClockTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2023-01-01T10:00:00Z"));
+
+    private final RequestClock requestClock = new RequestClock(clock);
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void now_WithinRequest_ShouldReturnSameInstantForEveryCall() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        LocalDateTime first = requestClock.now();
+        clock.advanceSeconds(5);
+        LocalDateTime second = requestClock.now();
+
+        assertThat(first, is(LocalDateTime.of(2023, 1, 1, 10, 0)));
+        assertThat(second, is(first));
+    }
+
+    @Test
+    void now_InNewRequest_ShouldReadClockAgain() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        LocalDateTime first = requestClock.now();
+
+        clock.advanceSeconds(5);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        LocalDateTime second = requestClock.now();
+
+        assertThat(second, is(first.plusSeconds(5)));
+    }
+
+    @Test
+    void now_OutsideRequest_ShouldReadClockEveryCall() {
+        LocalDateTime first = requestClock.now();
+        clock.advanceSeconds(5);
+        LocalDateTime second = requestClock.now();
+
+        assertThat(second, not(first));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advanceSeconds(long seconds) {
+            instant = instant.plusSeconds(seconds);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
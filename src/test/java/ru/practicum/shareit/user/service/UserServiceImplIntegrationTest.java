@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,6 +10,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.shared.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.storage.UserCache;
 
 import javax.transaction.Transactional;
 import java.util.List;
@@ -25,6 +28,12 @@ class UserServiceImplIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private UserDto userDto;
 
     private UserUpdateDto updateDto;
@@ -158,4 +167,45 @@ class UserServiceImplIntegrationTest {
         assertThat(users, notNullValue());
         assertThat(users, emptyIterable());
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateUser_WhenUserIsCached_ShouldEvictCachedUser() {
+        UserDto savedUser = userService.addUser(userDto);
+        userCache.findById(savedUser.getId());
+
+        userService.updateUser(savedUser.getId(), updateDto);
+        User cachedUser = userCache.findById(savedUser.getId()).orElseThrow();
+
+        assertThat(cachedUser.getName(), is(updateDto.getName()));
+        assertThat(cachedUser.getEmail(), is(updateDto.getEmail()));
+    }
+
+    @Test
+    void deleteUserById_WhenUserIsCached_ShouldEvictCachedUser() {
+        UserDto savedUser = userService.addUser(userDto);
+        userCache.findById(savedUser.getId());
+
+        userService.deleteUserById(savedUser.getId());
+
+        assertThat(userCache.findById(savedUser.getId()).isPresent(), is(false));
+    }
+
+    @Test
+    void findById_WhenCalledTwice_ShouldRecordCacheHit() {
+        UserDto savedUser = userService.addUser(userDto);
+        double hits = cacheGets("hit");
+
+        userCache.findById(savedUser.getId());
+        userCache.findById(savedUser.getId());
+
+        assertThat(cacheGets("hit"), is(hits + 1));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserCache.USERS_CACHE)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}